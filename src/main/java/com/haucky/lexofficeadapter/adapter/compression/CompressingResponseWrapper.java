@@ -0,0 +1,302 @@
+package com.haucky.lexofficeadapter.adapter.compression;
+
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds back the response body until it either reaches the compression threshold or is complete, then decides
+ * whether to send it compressed with the negotiated content coding ({@code br} or {@code gzip}). Flushes before reaching the threshold are ignored (message converters flush
+ * after every body), once the decision is made flushes are passed on. Responses written incrementally decide right
+ * away with {@link #startStreaming()}, so their first flush reaches the client.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+    // Brotli quality for dynamic content: close to gzip's speed at a better ratio, the top levels are meant for static files
+    private static final int BROTLI_QUALITY = 4;
+
+    private final String contentCoding;
+    private final int minResponseSize;
+
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+
+    /**
+     * @param contentCoding {@code br}, {@code gzip} or null if the client accepts neither
+     */
+    CompressingResponseWrapper(HttpServletResponse response, String contentCoding, int minResponseSize) {
+        super(response);
+        this.contentCoding = contentCoding;
+        this.minResponseSize = minResponseSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return compressingOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(compressingOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    // The length of the transferred body is only known after compressing, it is set for uncompressed bodies in finish()
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.flush();
+            if (outputStream.target == null) {
+                // Committing now would send the headers before compression was decided
+                return;
+            }
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (outputStream != null) {
+            outputStream.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (outputStream != null) {
+            outputStream.reset();
+        }
+        super.reset();
+    }
+
+    /**
+     * Decides on compression now instead of holding back the body up to the threshold. The content type must be set.
+     */
+    void startStreaming() throws IOException {
+        compressingOutputStream().startNow();
+    }
+
+    long getContentBytes() {
+        return outputStream != null ? outputStream.contentBytes : 0;
+    }
+
+    long getWireBytes() {
+        return outputStream != null ? outputStream.wireBytes.count : 0;
+    }
+
+    /**
+     * Writes whatever is still held back and completes the compressed stream.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.finish();
+        }
+    }
+
+    private CompressingOutputStream compressingOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private boolean isCompressible() {
+        String contentType = getContentType();
+        int status = getStatus();
+        return contentCoding != null
+                && !containsHeader(HttpHeaders.CONTENT_ENCODING)
+                && status != SC_NO_CONTENT && status != SC_NOT_MODIFIED
+                && contentType != null && (contentType.contains("json") || contentType.startsWith("text/"));
+    }
+
+    private class CompressingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream servletStream;
+        private final CountingOutputStream wireBytes;
+        private final ByteArrayOutputStream heldBack = new ByteArrayOutputStream();
+
+        private OutputStream target;
+        private OutputStream compressor;
+        private long contentBytes;
+
+        CompressingOutputStream(ServletOutputStream servletStream) {
+            this.servletStream = servletStream;
+            this.wireBytes = new CountingOutputStream(servletStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            contentBytes += len;
+            if (target == null) {
+                if (heldBack.size() + len < minResponseSize) {
+                    heldBack.write(b, off, len);
+                    return;
+                }
+                start(isCompressible());
+            }
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                // Flushing the compressor emits everything compressed so far (gzip sync flush, brotli flush)
+                target.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (target == null) {
+                setContentLengthSuper(heldBack.size());
+                start(false);
+            }
+            if (compressor != null) {
+                // Writes the trailer and flushes, the servlet stream stays open (see NonClosingOutputStream)
+                compressor.close();
+            } else {
+                target.flush();
+            }
+        }
+
+        void startNow() throws IOException {
+            if (target == null) {
+                start(isCompressible());
+            }
+        }
+
+        void reset() {
+            if (target == null) {
+                heldBack.reset();
+                contentBytes = 0;
+            }
+        }
+
+        private void start(boolean compress) throws IOException {
+            if (compress) {
+                setHeader(HttpHeaders.CONTENT_ENCODING, contentCoding);
+                addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                // The compressed representation differs byte for byte, a strong validator would no longer be correct
+                String eTag = getHeader(HttpHeaders.ETAG);
+                if (eTag != null && !eTag.startsWith("W/")) {
+                    setHeader(HttpHeaders.ETAG, "W/" + eTag);
+                }
+                compressor = newCompressor(new NonClosingOutputStream(wireBytes));
+                target = compressor;
+            } else {
+                target = wireBytes;
+            }
+            heldBack.writeTo(target);
+            heldBack.reset();
+        }
+
+        @Override
+        public boolean isReady() {
+            return servletStream.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            servletStream.setWriteListener(writeListener);
+        }
+    }
+
+    private OutputStream newCompressor(OutputStream out) throws IOException {
+        if (ResponseCompressionFilter.BROTLI.equals(contentCoding)) {
+            return new BrotliOutputStream(out, new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+        }
+        return new GZIPOutputStream(out, 8192, true);
+    }
+
+    private void setContentLengthSuper(int length) {
+        super.setContentLength(length);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    // Closing a compressor completes its stream and closes the target, the servlet stream is closed by the container
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.haucky.lexofficeadapter.adapter.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Compresses responses once they exceed a size threshold, with Brotli if the client accepts {@code br} and the native
+ * encoder is available on the platform, otherwise with gzip if the client accepts that.
+ * <p>
+ * Smaller responses are sent as they are, compressing them costs more CPU than it saves bandwidth. Payload and
+ * transferred bytes are counted per endpoint as {@code adapter.http.response.bytes} with {@code stage=content} and
+ * {@code stage=wire}.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+    static final String BROTLI = "br";
+    static final String GZIP = "gzip";
+
+    private final int minResponseSize;
+    private final boolean brotliEnabled;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param brotliEnabled whether to offer {@code br}, ignored if the native Brotli encoder cannot be loaded
+     */
+    public ResponseCompressionFilter(int minResponseSize, boolean brotliEnabled, MeterRegistry meterRegistry) {
+        this.minResponseSize = minResponseSize;
+        this.brotliEnabled = brotliEnabled && Brotli4jLoader.isAvailable();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Async responses are written in the async dispatch, the response is finished at the end of that one
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpServletResponse responseToUse = response;
+        if (!isAsyncDispatch(request) && WebUtils.getNativeResponse(response, CompressingResponseWrapper.class) == null) {
+            responseToUse = new CompressingResponseWrapper(response, contentCoding(request), minResponseSize);
+        }
+
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(responseToUse, CompressingResponseWrapper.class);
+            if (wrapper != null && !isAsyncStarted(request)) {
+                wrapper.finish();
+                record(request, wrapper);
+            }
+        }
+    }
+
+    /**
+     * Ends threshold buffering for a response that is written incrementally, e.g. a streamed list: compression is
+     * decided right away and flushes reach the client. Does nothing if the response is not compressed by the filter.
+     */
+    public static void startStreaming(HttpServletResponse response) throws IOException {
+        CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        if (wrapper != null) {
+            wrapper.startStreaming();
+        }
+    }
+
+    private void record(HttpServletRequest request, CompressingResponseWrapper wrapper) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        counter(uri, "content").increment(wrapper.getContentBytes());
+        counter(uri, "wire").increment(wrapper.getWireBytes());
+    }
+
+    private Counter counter(String uri, String stage) {
+        return Counter.builder("adapter.http.response.bytes")
+                .description("Response body bytes sent by the adapter, before (content) and after (wire) compression")
+                .baseUnit("bytes")
+                .tag("uri", uri)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    // Brotli is preferred, it compresses JSON better at similar speed. Codings listed with q=0 are refused
+    private String contentCoding(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return null;
+        }
+
+        boolean brotliAccepted = false;
+        boolean gzipAccepted = false;
+        for (String element : acceptEncoding.toLowerCase().split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim();
+            boolean refused = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+            brotliAccepted |= coding.equals(BROTLI) && !refused;
+            gzipAccepted |= coding.equals(GZIP) && !refused;
+        }
+        if (brotliAccepted && brotliEnabled) {
+            return BROTLI;
+        }
+        return gzipAccepted ? GZIP : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.haucky.lexofficeadapter.adapter.config;
+
+import com.haucky.lexofficeadapter.adapter.compression.ResponseCompressionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Response compression for the contact endpoints. Registered before the security filter chain, so problem responses
+ * of rejected requests are compressed as well.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            @Value("${app.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${app.compression.brotli-enabled:true}") boolean brotliEnabled, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCompressionFilter((int) minResponseSize.toBytes(), brotliEnabled, meterRegistry));
+        registration.addUrlPatterns("/v1/contacts", "/v1/contacts/*");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -2,7 +2,11 @@ package com.haucky.lexofficeadapter.adapter.config;
 
 import com.haucky.lexofficeadapter.adapter.security.JwtAuthenticationFilter;
 import com.haucky.lexofficeadapter.adapter.security.JwtUtil;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,6 +16,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -21,16 +26,27 @@ import java.nio.charset.StandardCharsets;
 public class JwtSecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtSecretKey());
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, LexofficeApiProperties lexofficeApiProperties,
+                                                   @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                                                   @Value("${app.jwt.tenant-claim:tenant}") String tenantClaim,
+                                                   @Value("${app.jwt.default-tenant-fallback:false}") boolean defaultTenantFallback) throws Exception {
+        // With additional tenants configured, a token without tenant claim is ambiguous unless the fallback is opted into
+        boolean tenantClaimRequired = !lexofficeApiProperties.getTenants().isEmpty() && !defaultTenantFallback;
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtSecretKey(), tenantClaim, tenantClaimRequired,
+                exceptionResolver);
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async dispatches resume a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/v1/tokens/admin", "v1/tokens/user").permitAll()
                         .requestMatchers("/v1/cache/**").hasAuthority("SCOPE_admin")
+                        .requestMatchers("/v1/audit/**").hasAuthority("SCOPE_admin")
                         .requestMatchers("/", "/v1/api-docs/**", "/api.html", "/swagger-ui/**").permitAll()
+                        // Lexoffice signs its event callbacks, the controller verifies the signature
+                        .requestMatchers(HttpMethod.POST, "/v1/webhooks/lexoffice/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/v1/contacts/**").hasAuthority("SCOPE_data:read")
                         .requestMatchers(HttpMethod.POST, "/v1/contacts/**").hasAuthority("SCOPE_data:write")
                         .requestMatchers("/actuator/**").hasAuthority("SCOPE_admin")
@@ -0,0 +1,70 @@
+package com.haucky.lexofficeadapter.adapter.controller;
+
+import com.haucky.lexofficeadapter.adapter.dto.problem.Problem;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundCall;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller exposing the sampled audit log of calls to the Lexoffice API.
+ */
+@RestController
+@RequestMapping("/v1/audit")
+@Validated
+@Tag(name = "Audit", description = "Recently audited calls to the Lexoffice API")
+@SecurityRequirement(name = "bearer-jwt")
+public class AuditController {
+
+    private final OutboundAuditLog auditLog;
+
+    public AuditController(OutboundAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @GetMapping("/recent")
+    @Operation(
+            summary = "List recent outbound calls",
+            description = "Returns the most recently audited calls to the Lexoffice API, newest first. Failed calls are always audited, successful calls are sampled. Requires admin scope.",
+            security = { @SecurityRequirement(name = "bearer-jwt") }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recent outbound calls",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = OutboundCall.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - missing or invalid token",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - insufficient privileges (requires admin scope)",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            )
+    })
+    public ResponseEntity<List<OutboundCall>> getRecentCalls(
+            @Parameter(description = "Maximum number of calls to return", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(auditLog.recent(limit));
+    }
+}
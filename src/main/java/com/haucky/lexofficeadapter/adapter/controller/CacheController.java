@@ -1,6 +1,7 @@
 package com.haucky.lexofficeadapter.adapter.controller;
 
 import com.haucky.lexofficeadapter.adapter.dto.problem.Problem;
+import com.haucky.lexofficeadapter.lexoffice.LexofficeContactService;
 import com.haucky.lexofficeadapter.lexoffice.LexofficeCountryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,13 +11,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 /**
  * Controller to handle cache management operations.
- * Provides endpoint for invalidating contacts cache
+ * Provides endpoints for invalidating the country and contact caches
  */
 @RestController
 @RequestMapping("/v1/cache")
@@ -25,9 +29,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class CacheController {
 
     private final LexofficeCountryService countryService;
+    private final LexofficeContactService contactService;
 
-    public CacheController(LexofficeCountryService countryService) {
+    public CacheController(LexofficeCountryService countryService, LexofficeContactService contactService) {
         this.countryService = countryService;
+        this.contactService = contactService;
     }
 
     @PostMapping("/countries/invalidate")
@@ -62,4 +68,60 @@ public class CacheController {
         countryService.invalidateCache();
         return ResponseEntity.ok("Country cache invalidated successfully");
     }
-}
\ No newline at end of file
+
+    @PostMapping("/contacts/invalidate")
+    @Operation(
+            summary = "Invalidate contact cache",
+            description = "Clears all cached contacts and list pages to force reads from the Lexoffice API. Requires admin scope.",
+            security = { @SecurityRequirement(name = "bearer-jwt") }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cache invalidated successfully",
+                    content = @Content(schema = @Schema(implementation = String.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - missing or invalid token",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - insufficient privileges (requires admin scope)",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            )
+    })
+    public ResponseEntity<String> invalidateContactCache() {
+        contactService.invalidateContactCache();
+        return ResponseEntity.ok("Contact cache invalidated successfully");
+    }
+
+    @PostMapping("/contacts/{id}/invalidate")
+    @Operation(
+            summary = "Invalidate a cached contact",
+            description = "Removes a single contact from the cache, e.g. after it was changed outside of the adapter. Requires admin scope.",
+            security = { @SecurityRequirement(name = "bearer-jwt") }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Contact invalidated successfully",
+                    content = @Content(schema = @Schema(implementation = String.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - missing or invalid token",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - insufficient privileges (requires admin scope)",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            )
+    })
+    public ResponseEntity<String> invalidateCachedContact(@PathVariable UUID id) {
+        contactService.invalidateContact(id);
+        return ResponseEntity.ok("Contact " + id + " invalidated successfully");
+    }
+}
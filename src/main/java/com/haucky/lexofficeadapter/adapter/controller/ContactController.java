@@ -1,9 +1,11 @@
 package com.haucky.lexofficeadapter.adapter.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.haucky.lexofficeadapter.adapter.dto.ContactResponse;
 import com.haucky.lexofficeadapter.adapter.dto.ContactsPageResponse;
 import com.haucky.lexofficeadapter.adapter.dto.problem.Problem;
 import com.haucky.lexofficeadapter.adapter.dto.problem.ValidationProblem;
+import com.haucky.lexofficeadapter.adapter.exception.ResponseStreamAbortedException;
 import com.haucky.lexofficeadapter.common.dto.mapper.ContactMapperImpl;
 import com.haucky.lexofficeadapter.common.dto.requests.ContactCreate;
 import com.haucky.lexofficeadapter.common.dto.requests.ContactFilterRequest;
@@ -20,14 +22,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -42,9 +49,23 @@ public class ContactController {
     private final LexofficeContactService contactService;
     private final ContactMapperImpl contactMapper;
 
-    public ContactController(LexofficeContactService contactService, ContactMapperImpl contactMapper) {
+    // In async mode the servlet thread is released while waiting for Lexoffice, the response is written once it arrives.
+    // Handlers then return a CompletableFuture, otherwise the ResponseEntity itself: Spring MVC picks the return value
+    // handler by the runtime type, so blocking mode does not pay for an async dispatch per request
+    private final boolean asyncEnabled;
+
+    // In streaming mode contacts are mapped and written to the response while the Lexoffice response is still being read
+    private final boolean streamingEnabled;
+    private final ObjectMapper objectMapper;
+
+    public ContactController(LexofficeContactService contactService, ContactMapperImpl contactMapper, ObjectMapper objectMapper,
+                             @Value("${app.async.enabled:false}") boolean asyncEnabled,
+                             @Value("${app.streaming.enabled:false}") boolean streamingEnabled) {
         this.contactService = contactService;
         this.contactMapper = contactMapper;
+        this.objectMapper = objectMapper;
+        this.asyncEnabled = asyncEnabled;
+        this.streamingEnabled = streamingEnabled;
     }
 
     @PostMapping
@@ -167,7 +188,7 @@ public class ContactController {
                     content = @Content(schema = @Schema(implementation = Problem.class))
             )
     })
-    public ResponseEntity<ContactCreated> createContact(
+    public Object createContact(
             @Parameter(description = "Contact information to create", required = true,
                     examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
                             name = "companyExample",
@@ -235,6 +256,10 @@ public class ContactController {
                     ))
             @Valid @RequestBody ContactCreate contactCreate) {
         log.info("Creating new contact: {}", contactCreate);
+        if (asyncEnabled) {
+            return contactService.createContactAsync(contactCreate).thenApply(ResponseEntity::ok);
+        }
+
         ContactCreated response = contactService.createContact(contactCreate);
         return ResponseEntity.ok(response);
     }
@@ -345,14 +370,23 @@ public class ContactController {
                     content = @Content(schema = @Schema(implementation = Problem.class))
             )
     })
-    public ResponseEntity<ContactResponse> getContactById(
+    public Object getContactById(
             @Parameter(description = "UUID of the contact to retrieve", required = true,
                     example = "86f5d7da-496a-4606-a18e-5753e19322a9")
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) {
         log.info("Retrieving contact with ID: {}", id);
+        addReplicaAge(response);
+        if (asyncEnabled) {
+            return contactService.getContactByIdAsync(id)
+                    .thenApply(contact -> ContactETags.respond(ifNoneMatch, ContactETags.of(contact),
+                            () -> contactMapper.contactToContactResponse(contact)));
+        }
+
         Contact contact = contactService.getContactById(id);
-        ContactResponse contactResponse = contactMapper.contactToContactResponse(contact);
-        return ResponseEntity.ok(contactResponse);
+        return ContactETags.respond(ifNoneMatch, ContactETags.of(contact),
+                () -> contactMapper.contactToContactResponse(contact));
     }
 
     @GetMapping
@@ -458,12 +492,56 @@ public class ContactController {
                     content = @Content(schema = @Schema(implementation = Problem.class))
             )
     })
-    public ResponseEntity<ContactsPageResponse> getAllContactsWithFilter(
+    public Object getAllContactsWithFilter(
             @ParameterObject @Valid ContactPageRequest pageRequest,
-            @ParameterObject @Valid ContactFilterRequest filter) {
+            @ParameterObject @Valid ContactFilterRequest filter,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
         log.info("Listing contacts with pagination: {} and filter: {}", pageRequest, filter);
+        addReplicaAge(response);
+        if (streamingEnabled) {
+            // Pages the replica or page cache can answer are sent as a whole, with ETag. Only reads going upstream are
+            // streamed, without ETag (the headers are sent before the page is known) and without coalescing
+            Optional<ContactsPage> local = contactService.findContactsWithFilterLocally(pageRequest, filter);
+            if (local.isPresent()) {
+                return ContactETags.respond(ifNoneMatch, ContactETags.of(local.get()),
+                        () -> contactMapper.contactsPageToContactsPageResponse(local.get()));
+            }
+            streamContacts(pageRequest, filter, response);
+            // The response is already written, nothing left for Spring MVC to render
+            return null;
+        }
+        if (asyncEnabled) {
+            return contactService.getAllContactsWithFilterAsync(pageRequest, filter)
+                    .thenApply(contactsPage -> ContactETags.respond(ifNoneMatch, ContactETags.of(contactsPage),
+                            () -> contactMapper.contactsPageToContactsPageResponse(contactsPage)));
+        }
+
         ContactsPage contactsPage = contactService.getAllContactsWithFilter(pageRequest, filter);
-        ContactsPageResponse contactsPageResponse = contactMapper.contactsPageToContactsPageResponse(contactsPage);
-        return ResponseEntity.ok(contactsPageResponse);
+        return ContactETags.respond(ifNoneMatch, ContactETags.of(contactsPage),
+                () -> contactMapper.contactsPageToContactsPageResponse(contactsPage));
+    }
+
+    private void streamContacts(ContactPageRequest pageRequest, ContactFilterRequest filter, HttpServletResponse response)
+            throws IOException {
+        ContactsPageResponseWriter writer = new ContactsPageResponseWriter(objectMapper, contactMapper, response);
+        try {
+            ContactsPage contactsPage = contactService.streamAllContactsWithFilter(pageRequest, filter, writer);
+            writer.finish(contactsPage);
+        } catch (IOException | RuntimeException e) {
+            if (!writer.isStarted()) {
+                throw e;
+            }
+            log.warn("Streaming contacts failed after the response was committed, aborting it", e);
+            throw new ResponseStreamAbortedException(e);
+        }
+    }
+
+    /**
+     * In replica mode responses carry the age of the replica in seconds. Reads the replica could not answer went to
+     * Lexoffice and are younger, so the header is an upper bound.
+     */
+    private void addReplicaAge(HttpServletResponse response) {
+        contactService.replicaAge().ifPresent(age -> response.setHeader(HttpHeaders.AGE, String.valueOf(age.toSeconds())));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.haucky.lexofficeadapter.adapter.controller;
+
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Validators for conditional GETs on contacts, derived from the Lexoffice response before it is mapped, so a matching
+ * {@code If-None-Match} can be answered with 304 without mapping or serialising the body.
+ * <p>
+ * A single contact is identified by its id and {@link Contact#getVersion() version}, which Lexoffice increments on
+ * every change. A page is identified by a hash over the ids and versions of its contacts and the paging metadata.
+ */
+final class ContactETags {
+
+    private ContactETags() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    static String of(Contact contact) {
+        return contact != null && contact.getVersion() != null ? quote(contact.getId() + "-" + contact.getVersion()) : null;
+    }
+
+    static String of(ContactsPage page) {
+        if (page == null) {
+            return null;
+        }
+        MessageDigest digest = sha256();
+        update(digest, page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+        if (page.getContent() != null) {
+            for (Contact contact : page.getContent()) {
+                update(digest, contact.getId(), contact.getVersion());
+            }
+        }
+        // 128 bit are plenty to tell versions of the same page apart
+        return quote(Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 16)));
+    }
+
+    /**
+     * Answers with 304 if the client holds the current version, otherwise creates the body and answers with 200.
+     * Both carry the ETag.
+     */
+    static <T> ResponseEntity<T> respond(String ifNoneMatch, String eTag, Supplier<T> body) {
+        if (eTag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(body.get());
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match (RFC 9110), so validators weakened by response compression match
+     * as well.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static void update(MessageDigest digest, Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
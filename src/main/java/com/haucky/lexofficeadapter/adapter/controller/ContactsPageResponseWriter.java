@@ -0,0 +1,104 @@
+package com.haucky.lexofficeadapter.adapter.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.haucky.lexofficeadapter.adapter.compression.ResponseCompressionFilter;
+import com.haucky.lexofficeadapter.adapter.dto.ContactsPageResponse;
+import com.haucky.lexofficeadapter.common.dto.mapper.ContactMapper;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes a {@link ContactsPageResponse} to the servlet response while the contacts are still being read from Lexoffice.
+ * <p>
+ * Each contact is mapped and serialized as soon as it arrives, the paging metadata is appended once the page was read.
+ * Since {@code content} is the first property of {@link ContactsPageResponse}, the written JSON is identical to a
+ * serialized response. Nothing is written before the first contact, so upstream errors can still be answered with
+ * a problem response. Response compression skips its size threshold for the streamed body, otherwise the first
+ * contact would be held back until enough contacts followed.
+ */
+class ContactsPageResponseWriter implements Consumer<Contact> {
+    private final ObjectMapper objectMapper;
+    private final ContactMapper contactMapper;
+    private final HttpServletResponse response;
+
+    private JsonGenerator generator;
+
+    ContactsPageResponseWriter(ObjectMapper objectMapper, ContactMapper contactMapper, HttpServletResponse response) {
+        this.objectMapper = objectMapper;
+        this.contactMapper = contactMapper;
+        this.response = response;
+    }
+
+    @Override
+    public void accept(Contact contact) {
+        try {
+            boolean firstContact = generator == null;
+            start();
+            objectMapper.writeValue(generator, contactMapper.contactToContactResponse(contact));
+
+            // Send the first contact right away for a low time to first byte, the rest is sent whenever the servlet buffer is full
+            if (firstContact) {
+                response.flushBuffer();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Completes the response with the paging metadata of the page.
+     */
+    void finish(ContactsPage page) throws IOException {
+        start();
+        generator.writeEndArray();
+
+        ObjectNode metadata = objectMapper.valueToTree(contactMapper.contactsPageToContactsPageResponse(page));
+        metadata.remove("content");
+        for (Iterator<Map.Entry<String, JsonNode>> fields = metadata.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            generator.writeFieldName(field.getKey());
+            generator.writeTree(field.getValue());
+        }
+
+        generator.writeEndObject();
+        generator.close();
+        response.flushBuffer();
+    }
+
+    /**
+     * @return whether the response is committed to a 200, errors can no longer be answered with a problem response
+     */
+    boolean isStarted() {
+        return generator != null;
+    }
+
+    private void start() throws IOException {
+        if (generator != null) {
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ResponseCompressionFilter.startStreaming(response);
+
+        generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        // Flushing is left to the servlet buffer, closing the generator must not close the servlet stream
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeFieldName("content");
+        generator.writeStartArray();
+    }
+}
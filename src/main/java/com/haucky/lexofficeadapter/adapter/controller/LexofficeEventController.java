@@ -0,0 +1,86 @@
+package com.haucky.lexofficeadapter.adapter.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haucky.lexofficeadapter.adapter.dto.problem.Problem;
+import com.haucky.lexofficeadapter.adapter.exception.InvalidEventSignatureException;
+import com.haucky.lexofficeadapter.adapter.exception.UnknownTenantException;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactDeltaSync;
+import com.haucky.lexofficeadapter.lexoffice.dto.LexofficeEvent;
+import com.haucky.lexofficeadapter.lexoffice.events.LexofficeEventVerifier;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Receives Lexoffice event subscription callbacks. Lexoffice cannot send a JWT, callbacks are authenticated by their
+ * signature instead. The tenant is part of the callback URL registered with the subscription.
+ */
+@RestController
+@RequestMapping("/v1/webhooks/lexoffice")
+@ConditionalOnProperty(name = {"lexoffice.api.replica.enabled", "lexoffice.api.replica.delta.enabled"}, havingValue = "true")
+@Tag(name = "Lexoffice Events", description = "Callbacks of Lexoffice event subscriptions")
+public class LexofficeEventController {
+
+    private final ContactDeltaSync deltaSync;
+    private final LexofficeEventVerifier verifier;
+    private final LexofficeTenantRegistry tenantRegistry;
+    private final ObjectMapper objectMapper;
+
+    public LexofficeEventController(ContactDeltaSync deltaSync, LexofficeEventVerifier verifier,
+                                    LexofficeTenantRegistry tenantRegistry, ObjectMapper objectMapper) {
+        this.deltaSync = deltaSync;
+        this.verifier = verifier;
+        this.tenantRegistry = tenantRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/{tenant}")
+    @Operation(
+            summary = "Receive a Lexoffice event",
+            description = "Records a contact.created, contact.changed or contact.deleted event, the contact replica applies it with its next delta sync."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Event recorded"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - missing or invalid X-Lxo-Signature",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - unknown tenant",
+                    content = @Content(schema = @Schema(implementation = Problem.class))
+            )
+    })
+    public ResponseEntity<Void> receiveEvent(
+            @PathVariable String tenant,
+            @RequestHeader(value = LexofficeEventVerifier.SIGNATURE_HEADER, required = false) String signature,
+            @RequestBody byte[] body) throws IOException {
+        if (!verifier.isSigned(body, signature)) {
+            throw new InvalidEventSignatureException();
+        }
+        if (!tenantRegistry.tenants().contains(tenant)) {
+            throw new UnknownTenantException(tenant);
+        }
+
+        deltaSync.onEvent(tenant, objectMapper.readValue(body, LexofficeEvent.class));
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.haucky.lexofficeadapter.adapter.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when too many calls of the same class are already in flight to the Lexoffice API.
+ */
+public class BulkheadFullException extends UpstreamCallRejectedException {
+    public BulkheadFullException(String callClass, Duration retryAfter) {
+        super("Adapter capacity exhausted",
+                "Too many concurrent calls to the Lexoffice API (" + callClass + "), please try again later",
+                HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+    }
+}
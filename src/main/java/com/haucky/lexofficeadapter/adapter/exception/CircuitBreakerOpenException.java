@@ -0,0 +1,17 @@
+package com.haucky.lexofficeadapter.adapter.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a call to the Lexoffice API is short-circuited because the upstream operation is
+ * considered unhealthy.
+ */
+public class CircuitBreakerOpenException extends UpstreamCallRejectedException {
+    public CircuitBreakerOpenException(String operation, Duration retryAfter) {
+        super("Lexoffice API temporarily unavailable",
+                "Calls to the Lexoffice API (" + operation + ") are suspended after repeated failures, please try again later",
+                HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+    }
+}
@@ -7,8 +7,10 @@ import com.haucky.lexofficeadapter.adapter.dto.problem.ValidationError;
 import com.haucky.lexofficeadapter.adapter.dto.problem.ValidationProblem;
 import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
 import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeValidationException;
+import feign.codec.DecodeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -122,6 +124,41 @@ public class GlobalExceptionHandler {
         return toEntity(problem);
     }
 
+    @ExceptionHandler(UpstreamCallRejectedException.class)
+    public ResponseEntity<Problem> handleUpstreamCallRejectedExceptions(UpstreamCallRejectedException rejectedException, WebRequest request) {
+        log.warn("Upstream call rejected: {} (Retry after: {})", rejectedException.getTitle(), rejectedException.getRetryAfter());
+
+        Problem problem = Problem.builder()
+                .type(ADAPTER_ERROR_DOCS)
+                .title(rejectedException.getTitle())
+                .status(rejectedException.getStatus())
+                .detail(rejectedException.getDetail())
+                .instance(constructInstanceUri(request))
+                .build();
+
+        // Retry-After is specified in whole seconds, round up so clients never retry too early
+        long retryAfterSeconds = Math.max(1, (rejectedException.getRetryAfter().toMillis() + 999) / 1000);
+
+        return ResponseEntity.status(problem.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(problem);
+    }
+
+    @ExceptionHandler(DecodeException.class)
+    public ResponseEntity<Problem> handleDecodeExceptions(DecodeException decodeException, WebRequest request) {
+        log.error("Lexoffice response could not be decoded: {}", decodeException.getMessage(), decodeException);
+
+        Problem problem = Problem.builder()
+                .type(ADAPTER_ERROR_DOCS)
+                .title("Bad Gateway")
+                .status(HttpStatus.BAD_GATEWAY)
+                .detail("The response of the Lexoffice API could not be processed")
+                .instance(constructInstanceUri(request))
+                .build();
+
+        return toEntity(problem);
+    }
+
     @ExceptionHandler(AdapterException.class)
     public ResponseEntity<Problem> handleAdapterExceptions(AdapterException adapterException, WebRequest request) {
         log.error("Adapter error: {} (Upstream Request ID: {})", adapterException.getDetail(),
@@ -134,6 +171,10 @@ public class GlobalExceptionHandler {
 
         if (adapterException instanceof CountryMappingNotFoundException) {
             problemBuilder.status(HttpStatus.BAD_GATEWAY);
+        } else if (adapterException instanceof UnknownTenantException) {
+            problemBuilder.status(HttpStatus.FORBIDDEN);
+        } else if (adapterException instanceof InvalidEventSignatureException) {
+            problemBuilder.status(HttpStatus.UNAUTHORIZED);
         } else {
             problemBuilder.status(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -169,6 +210,12 @@ public class GlobalExceptionHandler {
         return toEntity(problem);
     }
 
+    @ExceptionHandler(ResponseStreamAbortedException.class)
+    public void handleResponseStreamAborted(ResponseStreamAbortedException ex) {
+        // The response is committed, a problem would be appended to the streamed body. Rethrown, the container aborts it
+        throw ex;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Problem> handleAllExceptions(Exception ex, WebRequest request) {
         // Safely log the exception without assuming getCause() is non-null
@@ -0,0 +1,10 @@
+package com.haucky.lexofficeadapter.adapter.exception;
+
+/**
+ * Exception thrown when an event callback is not signed by Lexoffice.
+ */
+public class InvalidEventSignatureException extends AdapterException {
+    public InvalidEventSignatureException() {
+        super("Invalid event signature", "The event callback does not carry a valid Lexoffice signature", null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.haucky.lexofficeadapter.adapter.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a call to the Lexoffice API would have to wait longer than the configured budget
+ * for a permit of the client-side rate limiter.
+ */
+public class RateLimitExceededException extends UpstreamCallRejectedException {
+    public RateLimitExceededException(Duration retryAfter) {
+        super("Rate limit exceeded",
+                "The request budget for the Lexoffice API is currently exhausted, please try again later",
+                HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+    }
+}
@@ -0,0 +1,12 @@
+package com.haucky.lexofficeadapter.adapter.exception;
+
+/**
+ * Exception thrown when a streamed response fails after its status and first bytes were sent. It is not turned into
+ * a problem response but passed on to the servlet container, which then closes the connection without completing the
+ * body, so clients see a broken transfer instead of a truncated 200.
+ */
+public class ResponseStreamAbortedException extends RuntimeException {
+    public ResponseStreamAbortedException(Throwable cause) {
+        super("Streamed response aborted after it was committed", cause);
+    }
+}
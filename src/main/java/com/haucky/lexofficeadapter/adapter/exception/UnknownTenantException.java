@@ -0,0 +1,22 @@
+package com.haucky.lexofficeadapter.adapter.exception;
+
+/**
+ * Exception thrown when a request is made for a tenant without configured Lexoffice token.
+ */
+public class UnknownTenantException extends AdapterException {
+    public UnknownTenantException(String tenant) {
+        super("Unknown tenant", "No Lexoffice organisation is configured for tenant: " + tenant, null);
+    }
+
+    private UnknownTenantException(String title, String detail) {
+        super(title, detail, null);
+    }
+
+    /**
+     * The token names no tenant while several are served, and falling back to the default one is not enabled.
+     */
+    public static UnknownTenantException missingClaim(String tenantClaim) {
+        return new UnknownTenantException("Unknown tenant",
+                "The token has no '" + tenantClaim + "' claim, it is required as more than one Lexoffice organisation is served");
+    }
+}
@@ -0,0 +1,24 @@
+package com.haucky.lexofficeadapter.adapter.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the adapter itself refuses to call the Lexoffice API in order to protect the upstream
+ * (or its own threads). The call never left the adapter, therefore there is no upstream request ID.
+ * <p>
+ * Clients are expected to back off for at least {@link #getRetryAfter()}.
+ */
+@Getter
+public class UpstreamCallRejectedException extends AdapterException {
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public UpstreamCallRejectedException(String title, String detail, HttpStatus status, Duration retryAfter) {
+        super(title, detail, null);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -3,6 +3,8 @@ package com.haucky.lexofficeadapter.adapter.security;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
+import com.haucky.lexofficeadapter.adapter.exception.UnknownTenantException;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +14,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import javax.crypto.SecretKey;
 import java.io.IOException;
@@ -22,9 +25,20 @@ import java.util.stream.Collectors;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final SecretKey secretKey;
+    private final String tenantClaim;
+    private final boolean tenantClaimRequired;
+    private final HandlerExceptionResolver exceptionResolver;
 
-    public JwtAuthenticationFilter(SecretKey secretKey) {
+    /**
+     * @param tenantClaimRequired whether tokens without tenant claim are rejected instead of using the default tenant
+     * @param exceptionResolver   renders rejections as problem responses, like exceptions of controllers
+     */
+    public JwtAuthenticationFilter(SecretKey secretKey, String tenantClaim, boolean tenantClaimRequired,
+                                   HandlerExceptionResolver exceptionResolver) {
         this.secretKey = secretKey;
+        this.tenantClaim = tenantClaim;
+        this.tenantClaimRequired = tenantClaimRequired;
+        this.exceptionResolver = exceptionResolver;
     }
 
     @Override
@@ -62,11 +76,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     subject, null, authorities);
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            // Calls to Lexoffice are made for the organisation of the tenant. Without claim a token could silently act on
+            // the default organisation, that is only allowed where it is the only one or the fallback is enabled
+            String tenant = claims.get(tenantClaim, String.class);
+            if (tenant != null) {
+                TenantContext.setCurrentTenant(tenant);
+            } else if (tenantClaimRequired) {
+                SecurityContextHolder.clearContext();
+                exceptionResolver.resolveException(request, response, null, UnknownTenantException.missingClaim(tenantClaim));
+                return;
+            }
         } catch (JwtException e) {
             // In case of invalid token, clear the security context
             SecurityContextHolder.clearContext();
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
     }
 }
\ No newline at end of file
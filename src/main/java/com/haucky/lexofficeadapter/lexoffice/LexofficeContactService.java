@@ -1,22 +1,47 @@
 package com.haucky.lexofficeadapter.lexoffice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactCache;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactReplica;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactsPageCache;
 import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
 import com.haucky.lexofficeadapter.common.dto.requests.ContactCreate;
 import com.haucky.lexofficeadapter.common.dto.requests.ContactFilterRequest;
 import com.haucky.lexofficeadapter.common.dto.requests.ContactPageRequest;
 import com.haucky.lexofficeadapter.lexoffice.dto.ContactCreated;
 import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.client.ContactsPageReader;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeAsyncClient;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeErrorDecoder;
 import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RequestHedger;
+import com.haucky.lexofficeadapter.lexoffice.resilience.SingleFlight;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import feign.Response;
+import feign.RetryableException;
 import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Service for interacting with contacts, wrapping the lexoffice client
@@ -26,26 +51,291 @@ public class LexofficeContactService {
     private static final Logger logger = LoggerFactory.getLogger(LexofficeContactService.class); // Use SLF4j logger
 
     private final LexofficeFeignClient lexofficeFeignClient;
+    private final LexofficeAsyncClient lexofficeAsyncClient;
+    private final ContactsPageReader contactsPageReader;
+    private final LexofficeErrorDecoder errorDecoder;
+    private final RequestHedger getByIdHedger;
+    private final boolean hedgingEnabled;
+    // Concurrent identical reads share one upstream call, null if coalescing is disabled
+    private final SingleFlight<FlightKey, Contact> getByIdFlights;
+    private final SingleFlight<FlightKey, ContactsPage> listFlights;
+    // Null if the respective cache is disabled
+    private final ContactCache contactCache;
+    private final ContactsPageCache pageCache;
+    // Null unless replica mode is enabled
+    private final ContactReplica replica;
+    private final boolean writeThrough;
+    private final MeterRegistry meterRegistry;
 
-    public LexofficeContactService(LexofficeFeignClient lexofficeFeignClient) {
+    public LexofficeContactService(LexofficeFeignClient lexofficeFeignClient, LexofficeAsyncClient lexofficeAsyncClient,
+                                   ContactsPageReader contactsPageReader, ObjectMapper objectMapper,
+                                   RequestHedger lexofficeGetByIdHedger, LexofficeApiProperties properties,
+                                   MeterRegistry meterRegistry, ExecutorService lexofficeCacheExecutor,
+                                   ObjectProvider<ContactReplica> contactReplica) {
         this.lexofficeFeignClient = lexofficeFeignClient;
+        this.lexofficeAsyncClient = lexofficeAsyncClient;
+        this.contactsPageReader = contactsPageReader;
+        this.errorDecoder = new LexofficeErrorDecoder(objectMapper);
+        this.getByIdHedger = lexofficeGetByIdHedger;
+        this.hedgingEnabled = properties.getHedging().isEnabled();
+        this.meterRegistry = meterRegistry;
+
+        boolean coalescingEnabled = properties.getCoalescing().isEnabled();
+        this.getByIdFlights = coalescingEnabled ? new SingleFlight<>(UpstreamOperation.GET_BY_ID, meterRegistry) : null;
+        this.listFlights = coalescingEnabled ? new SingleFlight<>(UpstreamOperation.LIST, meterRegistry) : null;
+
+        this.contactCache = properties.getContactCache().isEnabled()
+                ? new ContactCache(properties.getContactCache(), this::fetchContactById, lexofficeCacheExecutor,
+                objectMapper, meterRegistry)
+                : null;
+        this.writeThrough = contactCache != null && properties.getContactCache().isWriteThrough();
+        this.replica = contactReplica.getIfAvailable();
+        this.pageCache = properties.getPageCache().isEnabled()
+                ? new ContactsPageCache(properties.getPageCache(), meterRegistry)
+                : null;
     }
 
     @Timed(value = "outbound.lexoffice.contacts.create", description = "Time taken for outbound call to create contact")
     public ContactCreated createContact(ContactCreate contactCreate) {
-        return lexofficeFeignClient.createContact(contactCreate);
+        ContactCreated created = lexofficeFeignClient.createContact(contactCreate);
+        onContactCreated(created);
+        return created;
     }
 
     @Timed(value = "outbound.lexoffice.contacts.getById", description = "Time taken for outbound call to get contact by ID")
     public Contact getContactById(UUID id) {
         logger.debug("Retrieving contact with ID: {}", id);
-        return lexofficeFeignClient.getContactById(id);
+        Optional<Contact> replicated = findInReplica(id);
+        if (replicated.isPresent()) {
+            return replicated.get();
+        }
+        if (contactCache != null) {
+            return contactCache.get(id);
+        }
+        return fetchContactById(id);
+    }
+
+    private Contact fetchContactById(UUID id) {
+        Supplier<Contact> call = hedgingEnabled
+                ? () -> getByIdHedger.call(() -> lexofficeFeignClient.getContactById(id))
+                : () -> lexofficeFeignClient.getContactById(id);
+        return coalesce(getByIdFlights, id, call);
     }
 
     @Timed(value = "outbound.lexoffice.contacts.getAll", description = "Time taken for outbound call to get all contacts")
     public ContactsPage getAllContactsWithFilter(ContactPageRequest contactPageRequest, ContactFilterRequest contactFilterRequest) {
-        // Call the Feign client to get the contacts
-        return lexofficeFeignClient.getAllContactsWithFilter(mergeQueryParams(contactPageRequest, contactFilterRequest));
+        Map<String, String> queryParams = mergeQueryParams(contactPageRequest, contactFilterRequest);
+        Optional<ContactsPage> replicated = findPageInReplica(queryParams);
+        if (replicated.isPresent()) {
+            return replicated.get();
+        }
+        Supplier<ContactsPage> call = () -> coalesce(listFlights, queryParams, () -> lexofficeFeignClient.getAllContactsWithFilter(queryParams));
+        return pageCache != null ? pageCache.get(queryParams, call) : call.get();
+    }
+
+    /**
+     * Streams a page of contacts, each contact is handed to the consumer as soon as it was read from the Lexoffice
+     * response. Upstream errors are thrown before the first contact is handed over.
+     * <p>
+     * Always reads from Lexoffice, neither the replica nor the page cache are asked and concurrent identical reads are
+     * not coalesced. Callers ask {@link #findContactsWithFilterLocally} first. The streamed page is put into the page
+     * cache.
+     *
+     * @return the paging metadata of the page, without content
+     */
+    @Timed(value = "outbound.lexoffice.contacts.getAll", description = "Time taken for outbound call to get all contacts")
+    public ContactsPage streamAllContactsWithFilter(ContactPageRequest contactPageRequest, ContactFilterRequest contactFilterRequest,
+                                                    Consumer<Contact> contactConsumer) throws IOException {
+        Map<String, String> queryParams = mergeQueryParams(contactPageRequest, contactFilterRequest);
+        // The contacts are materialised anyway, kept they let the page cache answer the next read of the page
+        List<Contact> contacts = pageCache != null ? new ArrayList<>() : null;
+        Consumer<Contact> consumer = contacts != null ? contactConsumer.andThen(contacts::add) : contactConsumer;
+
+        try (Response response = lexofficeFeignClient.streamAllContactsWithFilter(queryParams)) {
+            if (response.status() < 200 || response.status() >= 300) {
+                throw decodeError(response);
+            }
+            ContactsPage page = contactsPageReader.read(response.body().asInputStream(), consumer);
+            if (contacts != null) {
+                ContactsPage cached = new ContactsPage();
+                BeanUtils.copyProperties(page, cached);
+                cached.setContent(contacts);
+                pageCache.put(queryParams, cached);
+            }
+            return page;
+        }
+    }
+
+    /**
+     * Answers a page from the replica or the page cache, without calling Lexoffice.
+     *
+     * @return empty if the page would have to be read from Lexoffice
+     */
+    public Optional<ContactsPage> findContactsWithFilterLocally(ContactPageRequest contactPageRequest,
+                                                                ContactFilterRequest contactFilterRequest) {
+        Map<String, String> queryParams = mergeQueryParams(contactPageRequest, contactFilterRequest);
+        Optional<ContactsPage> replicated = findPageInReplica(queryParams);
+        if (replicated.isPresent() || pageCache == null) {
+            return replicated;
+        }
+        return Optional.ofNullable(pageCache.getIfPresent(queryParams));
+    }
+
+    @Timed(value = "outbound.lexoffice.contacts.create", description = "Time taken for outbound call to create contact")
+    public CompletableFuture<ContactCreated> createContactAsync(ContactCreate contactCreate) {
+        // Completes on an OkHttp thread, so the tenant is captured while still on the caller thread
+        String tenant = TenantContext.currentTenant();
+        return lexofficeAsyncClient.createContact(contactCreate)
+                .thenApply(created -> TenantContext.callAs(tenant, () -> {
+                    onContactCreated(created);
+                    return created;
+                }));
+    }
+
+    @Timed(value = "outbound.lexoffice.contacts.getById", description = "Time taken for outbound call to get contact by ID")
+    public CompletableFuture<Contact> getContactByIdAsync(UUID id) {
+        logger.debug("Retrieving contact with ID asynchronously: {}", id);
+        Optional<Contact> replicated = findInReplica(id);
+        if (replicated.isPresent()) {
+            return CompletableFuture.completedFuture(replicated.get());
+        }
+        if (contactCache == null) {
+            return coalesceAsync(getByIdFlights, id, () -> lexofficeAsyncClient.getContactById(id));
+        }
+
+        Contact cached = contactCache.getIfPresent(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        // Completes on an OkHttp thread, so the tenant is captured while still on the caller thread
+        String tenant = TenantContext.currentTenant();
+        return coalesceAsync(getByIdFlights, id, () -> lexofficeAsyncClient.getContactById(id))
+                .thenApply(contact -> TenantContext.callAs(tenant, () -> {
+                    contactCache.put(contact);
+                    return contact;
+                }));
+    }
+
+    @Timed(value = "outbound.lexoffice.contacts.getAll", description = "Time taken for outbound call to get all contacts")
+    public CompletableFuture<ContactsPage> getAllContactsWithFilterAsync(ContactPageRequest contactPageRequest, ContactFilterRequest contactFilterRequest) {
+        Map<String, String> queryParams = mergeQueryParams(contactPageRequest, contactFilterRequest);
+        Optional<ContactsPage> replicated = findPageInReplica(queryParams);
+        if (replicated.isPresent()) {
+            return CompletableFuture.completedFuture(replicated.get());
+        }
+        if (pageCache == null) {
+            return coalesceAsync(listFlights, queryParams, () -> lexofficeAsyncClient.getAllContactsWithFilter(queryParams));
+        }
+
+        ContactsPage cached = pageCache.getIfPresent(queryParams);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        String tenant = TenantContext.currentTenant();
+        return coalesceAsync(listFlights, queryParams, () -> lexofficeAsyncClient.getAllContactsWithFilter(queryParams))
+                .thenApply(contactsPage -> TenantContext.callAs(tenant, () -> {
+                    pageCache.put(queryParams, contactsPage);
+                    return contactsPage;
+                }));
+    }
+
+    private Optional<Contact> findInReplica(UUID id) {
+        return replica != null ? replica.findById(id) : Optional.empty();
+    }
+
+    private Optional<ContactsPage> findPageInReplica(Map<String, String> queryParams) {
+        return replica != null ? replica.findPage(queryParams) : Optional.empty();
+    }
+
+    /**
+     * Age of the replica reads of the current tenant are answered from, empty if replica mode is disabled or the
+     * replica exceeded its staleness bound and reads go to Lexoffice.
+     */
+    public Optional<Duration> replicaAge() {
+        return replica != null ? replica.age() : Optional.empty();
+    }
+
+    private static <T> T coalesce(SingleFlight<FlightKey, T> flights, Object request, Supplier<T> call) {
+        if (flights == null) {
+            return call.get();
+        }
+        return flights.call(new FlightKey(TenantContext.currentTenant(), request), call);
+    }
+
+    private static <T> CompletableFuture<T> coalesceAsync(SingleFlight<FlightKey, T> flights, Object request,
+                                                          Supplier<CompletableFuture<T>> call) {
+        if (flights == null) {
+            return call.get();
+        }
+        return flights.callAsync(new FlightKey(TenantContext.currentTenant(), request), call);
+    }
+
+    /**
+     * A new contact may belong on any cached list page of the tenant. The contact itself is usually read right after
+     * it was created, so it is fetched into the cache in the background.
+     */
+    private void onContactCreated(ContactCreated created) {
+        invalidateContact(created.getId());
+        if (pageCache != null) {
+            pageCache.invalidateCurrentTenant();
+        }
+        if (writeThrough && created.getId() != null) {
+            prefetchContact(created.getId());
+        }
+    }
+
+    /**
+     * Loads the contact through the cache, so a client read arriving while the fetch is running waits for it instead
+     * of going upstream a second time. Failures are not cached, the client read then simply fetches the contact itself.
+     * In replica mode the contact is added to the replica (and its indexes) as well, instead of with the next sync.
+     */
+    private void prefetchContact(UUID id) {
+        String tenant = TenantContext.currentTenant();
+        contactCache.getAsync(id)
+                .thenAccept(contact -> {
+                    if (replica != null) {
+                        replica.apply(tenant, List.of(contact), List.of(), null);
+                    }
+                })
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        logger.debug("Prefetching created contact {} failed", id, throwable);
+                    }
+                    meterRegistry.counter("lexoffice.contacts.prefetch", "result", throwable == null ? "success" : "failure")
+                            .increment();
+                });
+    }
+
+    public void invalidateContact(UUID id) {
+        if (contactCache != null && id != null) {
+            contactCache.invalidate(id);
+        }
+    }
+
+    public void invalidateContactCache() {
+        if (contactCache != null) {
+            logger.info("Invalidating contact cache with {} entries", contactCache.estimatedSize());
+            contactCache.invalidateAll();
+        }
+        if (pageCache != null) {
+            logger.info("Invalidating contact page cache with {} entries", pageCache.estimatedSize());
+            pageCache.invalidateAll();
+        }
+    }
+
+    private RuntimeException decodeError(Response response) {
+        Exception exception = errorDecoder.decode("LexofficeFeignClient#streamAllContactsWithFilter", response);
+        // The raw response bypasses the retryer, so transient errors surface like any other mapped error
+        if (exception.getCause() instanceof RuntimeException cause && exception instanceof RetryableException) {
+            return cause;
+        }
+        return (RuntimeException) exception;
+    }
+
+    /**
+     * Identical reads of different tenants go to different Lexoffice organisations and must never be coalesced.
+     */
+    private record FlightKey(String tenant, Object request) {
     }
 
     // TODO: Feign client can only accept one @SpringQueryMap but I want to keep both query DTOs separate since they handle different concerns
@@ -63,7 +63,8 @@ public class LexofficeCountryService {
         return countryCache.containsKey(countryCode);
     }
 
-    @Scheduled(fixedRate = 7200000) // 2 hours in milliseconds
+    // 2 hours in milliseconds, the first load happens lazily on the first request
+    @Scheduled(fixedRate = 7200000, initialDelay = 7200000)
     public void refreshCountryCache() {
             log.info("Refreshing country cache");
             ResponseEntity<List<Country>> countriesResponse = lexofficeClient.getCountries();
@@ -0,0 +1,160 @@
+package com.haucky.lexofficeadapter.lexoffice;
+
+import com.haucky.lexofficeadapter.lexoffice.client.CachingDns;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Warms up the path to the Lexoffice API after startup, so the first requests after a deploy do not pay for DNS
+ * resolution, TCP connect, TLS handshake and the country list.
+ * <p>
+ * Runs as {@link ApplicationRunner}, which Spring Boot completes before the readiness state changes to accepting
+ * traffic. Failures are logged but do not prevent startup, the first requests then simply warm up the path themselves.
+ */
+@Component
+@ConditionalOnProperty(value = "lexoffice.api.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class LexofficeWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(LexofficeWarmup.class);
+
+    private final OkHttpClient okHttpClient;
+    private final CachingDns dns;
+    private final LexofficeCountryService countryService;
+    private final LexofficeApiProperties.Warmup settings;
+    private final MeterRegistry meterRegistry;
+    private final HttpUrl baseUrl;
+
+    public LexofficeWarmup(OkHttpClient lexofficeOkHttpClient, CachingDns lexofficeDns, LexofficeCountryService countryService,
+                           LexofficeApiProperties properties, MeterRegistry meterRegistry,
+                           @Value("${lexoffice.api.url}") String apiUrl) {
+        this.okHttpClient = lexofficeOkHttpClient;
+        this.dns = lexofficeDns;
+        this.countryService = countryService;
+        this.settings = properties.getWarmup();
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = HttpUrl.get(apiUrl);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * @return whether every step of the warm-up succeeded
+     */
+    public boolean warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + settings.getTimeout().toNanos();
+
+        boolean success = resolveHost()
+                && openConnections(deadline)
+                && primeCountries();
+
+        long durationNanos = System.nanoTime() - start;
+        Timer.builder("lexoffice.warmup.duration")
+                .description("Time spent warming up DNS, connections and the country cache before accepting traffic")
+                .tag("result", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        log.info("Lexoffice warm-up {} after {} ms, {} pooled connections", success ? "finished" : "failed",
+                TimeUnit.NANOSECONDS.toMillis(durationNanos), okHttpClient.connectionPool().connectionCount());
+        return success;
+    }
+
+    private boolean resolveHost() {
+        try {
+            log.info("Resolved {} to {}", baseUrl.host(), dns.lookup(baseUrl.host()));
+            return true;
+        } catch (UnknownHostException e) {
+            log.warn("Warm-up could not resolve {}: {}", baseUrl.host(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Opens connections with HEAD requests without credentials, neither the client-side rate limit nor the token budget
+     * is used. A first request finds out the negotiated protocol: with HTTP/2 its single connection multiplexes all
+     * calls and nothing more is opened, that one connection is the intended result. With HTTP/1.1 concurrent requests
+     * follow, each needing a connection of its own, so the connections end up idle in the pool.
+     */
+    private boolean openConnections(long deadlineNanos) {
+        AtomicReference<Protocol> protocol = new AtomicReference<>();
+        if (!sendHeadRequests(1, protocol, deadlineNanos)) {
+            return false;
+        }
+        if (protocol.get() == Protocol.HTTP_2 || protocol.get() == Protocol.H2_PRIOR_KNOWLEDGE) {
+            log.info("Warm-up negotiated HTTP/2 with {}, a single multiplexed connection serves all calls", baseUrl.host());
+            return true;
+        }
+        return sendHeadRequests(settings.getConnections(), protocol, deadlineNanos);
+    }
+
+    private boolean sendHeadRequests(int count, AtomicReference<Protocol> protocol, long deadlineNanos) {
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < count; i++) {
+            Request request = new Request.Builder().url(baseUrl).head().build();
+            okHttpClient.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    log.warn("Warm-up could not connect to {}: {}", baseUrl.host(), e.getMessage());
+                    failures.incrementAndGet();
+                    done.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    // Any status will do, the connection is returned to the pool once the response is closed
+                    protocol.set(response.protocol());
+                    response.close();
+                    done.countDown();
+                }
+            });
+        }
+
+        try {
+            boolean completed = done.await(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (!completed) {
+                log.warn("Warm-up connections to {} did not complete within {}", baseUrl.host(), settings.getTimeout());
+            }
+            return completed && failures.get() == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean primeCountries() {
+        try {
+            countryService.refreshCountryCache();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Warm-up could not load the country list: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.haucky.lexofficeadapter.lexoffice.audit;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sampled audit log of calls to the Lexoffice API.
+ * <p>
+ * Recording a call is lock-free and never does I/O: the call is put into a fixed-size ring buffer, where it is picked
+ * up by the scheduled flush and written to the log. Failed calls are always recorded, successful calls only at
+ * {@code lexoffice.api.audit.sample-rate}. If more calls are recorded between two flushes than fit into the buffer, the
+ * oldest ones are overwritten and counted as dropped.
+ */
+@Component
+public class OutboundAuditLog {
+    private static final Logger log = LoggerFactory.getLogger(OutboundAuditLog.class);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final AtomicReferenceArray<Entry> buffer;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    // Only touched by the flushing thread
+    private long flushedSequence;
+
+    private final Counter droppedCounter;
+
+    private record Entry(long sequence, OutboundCall call) {
+    }
+
+    public OutboundAuditLog(LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        LexofficeApiProperties.Audit audit = properties.getAudit();
+        this.enabled = audit.isEnabled();
+        this.sampleRate = audit.getSampleRate();
+
+        // Power of two, so the slot is a cheap mask of the sequence
+        int capacity = Integer.highestOneBit(Math.max(1, audit.getCapacity() - 1)) << 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+
+        this.droppedCounter = Counter.builder("lexoffice.audit.dropped")
+                .description("Audited calls overwritten before they were flushed")
+                .register(meterRegistry);
+    }
+
+    public void record(OutboundCall call) {
+        if (!enabled || (!call.isFailed() && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+
+        long sequence = nextSequence.getAndIncrement();
+        buffer.set((int) (sequence & mask), new Entry(sequence, call));
+    }
+
+    /**
+     * The most recently recorded calls, newest first.
+     */
+    public List<OutboundCall> recent(int limit) {
+        long newest = nextSequence.get() - 1;
+        long oldest = Math.max(0, newest - Math.min(limit, buffer.length()) + 1);
+
+        List<OutboundCall> calls = new ArrayList<>();
+        for (long sequence = newest; sequence >= oldest; sequence--) {
+            Entry entry = buffer.get((int) (sequence & mask));
+            // Skip slots that were already overwritten or are not yet written
+            if (entry != null && entry.sequence() == sequence) {
+                calls.add(entry.call());
+            }
+        }
+        return calls;
+    }
+
+    @Scheduled(fixedDelayString = "${lexoffice.api.audit.flush-interval:5s}")
+    public synchronized void flush() {
+        long end = nextSequence.get();
+
+        if (end - flushedSequence > buffer.length()) {
+            long overwritten = end - buffer.length() - flushedSequence;
+            droppedCounter.increment(overwritten);
+            flushedSequence += overwritten;
+        }
+
+        while (flushedSequence < end) {
+            Entry entry = buffer.get((int) (flushedSequence & mask));
+            if (entry == null || entry.sequence() < flushedSequence) {
+                // Sequence taken but the entry is not yet written, pick it up with the next flush
+                break;
+            }
+            if (entry.sequence() == flushedSequence) {
+                write(entry.call());
+            } else {
+                droppedCounter.increment();
+            }
+            flushedSequence++;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private static void write(OutboundCall call) {
+        log.info("Outbound call: method={} uri={} status={} latencyMs={} requestId={} error={} at={}",
+                call.getMethod(), call.getUriTemplate(), call.getStatus(), call.getLatencyMillis(),
+                call.getRequestId(), call.getError(), call.getTimestamp());
+    }
+}
@@ -0,0 +1,28 @@
+package com.haucky.lexofficeadapter.lexoffice.audit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A single audited call to the Lexoffice API.
+ */
+@Data
+@Builder
+public class OutboundCall {
+    private Instant timestamp;
+    private String method;
+    private String uriTemplate;
+    // 0 if no response was received
+    private int status;
+    private long latencyMillis;
+    private String requestId;
+    private String error;
+
+    @JsonIgnore
+    public boolean isFailed() {
+        return status == 0 || status >= 400 || error != null;
+    }
+}
@@ -0,0 +1,156 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of single contacts, namespaced by tenant.
+ * <p>
+ * Eviction is frequency aware (Caffeine's W-TinyLFU), so a burst of one-off reads does not push out the contacts that
+ * are read over and over. Entries expire after the TTL, entries read after {@code refreshAfter} are reloaded in the
+ * background while the cached contact is still served. A contact is never replaced by one with a lower
+ * {@link Contact#getVersion() version}, e.g. from a reload that raced with a newer write.
+ * <p>
+ * Loads run on the executor and the cache only holds their future, so a slow load blocks neither other keys nor the
+ * (possibly virtual) thread that started it while the cache map is locked. Callers of the same key wait for the same
+ * load.
+ */
+public class ContactCache {
+    // Fallback if a contact cannot be serialised for estimating its size
+    private static final int DEFAULT_WEIGHT = 1024;
+
+    private final AsyncLoadingCache<Key, Contact> cache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param loader   fetches a contact from Lexoffice, called for the tenant the contact is cached for
+     * @param executor runs the loads and background refreshes
+     */
+    public ContactCache(LexofficeApiProperties.ContactCache settings, Function<UUID, Contact> loader, Executor executor,
+                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .executor(executor)
+                .expireAfterWrite(settings.getTtl())
+                .refreshAfterWrite(settings.getRefreshAfter())
+                .recordStats();
+        if (settings.getMaxSize() != null) {
+            builder.maximumWeight(settings.getMaxSize().toBytes())
+                    .weigher((Key key, Contact contact) -> weigh(contact));
+        } else {
+            builder.maximumSize(settings.getMaxEntries());
+        }
+
+        this.cache = builder.buildAsync(new CacheLoader<Key, Contact>() {
+            @Override
+            public Contact load(Key key) {
+                return TenantContext.callAs(key.tenant(), () -> loader.apply(key.id()));
+            }
+
+            @Override
+            public Contact reload(Key key, Contact oldValue) {
+                return newer(oldValue, load(key));
+            }
+        });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lexoffice.contacts");
+    }
+
+    /**
+     * Returns the cached contact of the current tenant, loading it on a miss.
+     */
+    public Contact get(UUID id) {
+        try {
+            return getAsync(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cached contact of the current tenant, loading it in the background on a miss.
+     */
+    public CompletableFuture<Contact> getAsync(UUID id) {
+        return cache.get(key(id));
+    }
+
+    /**
+     * @return the cached contact of the current tenant, null if it is not cached or still loading
+     */
+    public Contact getIfPresent(UUID id) {
+        return cache.synchronous().getIfPresent(key(id));
+    }
+
+    /**
+     * Caches a contact of the current tenant, unless a newer version is cached already. A load still in flight is
+     * replaced, its result is discarded.
+     */
+    public void put(Contact contact) {
+        cache.asMap().merge(key(contact.getId()), CompletableFuture.completedFuture(contact), (cached, candidate) ->
+                cached.isDone() && !cached.isCompletedExceptionally()
+                        ? CompletableFuture.completedFuture(newer(cached.join(), contact))
+                        : candidate);
+    }
+
+    /**
+     * Invalidates the contact of the current tenant.
+     */
+    public void invalidate(UUID id) {
+        cache.synchronous().invalidate(key(id));
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Runs pending maintenance (e.g. evictions) right away instead of on the next cache access.
+     */
+    public void cleanUp() {
+        cache.synchronous().cleanUp();
+    }
+
+    private static Key key(UUID id) {
+        return new Key(TenantContext.currentTenant(), id);
+    }
+
+    private static Contact newer(Contact cached, Contact candidate) {
+        if (cached.getVersion() != null && candidate.getVersion() != null && candidate.getVersion() < cached.getVersion()) {
+            return cached;
+        }
+        return candidate;
+    }
+
+    private int weigh(Contact contact) {
+        try {
+            return objectMapper.writeValueAsBytes(contact).length;
+        } catch (JsonProcessingException e) {
+            return DEFAULT_WEIGHT;
+        }
+    }
+
+    private record Key(String tenant, UUID id) {
+    }
+}
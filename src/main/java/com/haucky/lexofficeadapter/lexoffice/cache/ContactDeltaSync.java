@@ -0,0 +1,155 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.LexofficeEvent;
+import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the {@link ContactReplica} current between full syncs. The Lexoffice contacts endpoint cannot filter by
+ * update time, so changed contacts are learned from contact events instead: every cycle fetches only the contacts
+ * that changed since the previous one and applies them to the replica. A cycle costs one upstream call per changed
+ * contact, independent of the number of contacts in the organisation.
+ * <p>
+ * A change is skipped without an upstream call if the replica already holds the contact with an {@code updatedDate}
+ * at or after the event (e.g. read by a full sync in the meantime). Fetches that fail are retried in the next cycle.
+ */
+public class ContactDeltaSync {
+    private static final Logger log = LoggerFactory.getLogger(ContactDeltaSync.class);
+    private static final String CONTACT_DELETED = "contact.deleted";
+
+    private final ContactReplica replica;
+    private final LexofficeFeignClient lexofficeFeignClient;
+    private final LexofficeTenantRegistry tenantRegistry;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    // Changed contacts per tenant, only the latest event of a contact is kept
+    private final Map<String, Map<UUID, Change>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean cycleRunning = new AtomicBoolean();
+
+    public ContactDeltaSync(ContactReplica replica, LexofficeFeignClient lexofficeFeignClient,
+                            LexofficeTenantRegistry tenantRegistry, Executor executor, MeterRegistry meterRegistry,
+                            Clock clock) {
+        this.replica = replica;
+        this.lexofficeFeignClient = lexofficeFeignClient;
+        this.tenantRegistry = tenantRegistry;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Records a contact event of the tenant, applied with the next cycle. Events of other resources are ignored.
+     */
+    public void onEvent(String tenant, LexofficeEvent event) {
+        if (event.getResourceId() == null || event.getEventType() == null || !event.getEventType().startsWith("contact.")) {
+            return;
+        }
+        Instant eventDate = event.getEventDate() != null ? event.getEventDate().toInstant() : clock.instant();
+        record(tenant, event.getResourceId(), new Change(CONTACT_DELETED.equals(event.getEventType()), eventDate));
+    }
+
+    /**
+     * Starts a cycle for all tenants in the background, unless the previous one is still running.
+     */
+    @Scheduled(fixedDelayString = "${lexoffice.api.replica.delta.interval:30s}")
+    public void scheduleCycle() {
+        if (!cycleRunning.compareAndSet(false, true)) {
+            log.debug("Previous delta sync still running, skipping");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                tenantRegistry.tenants().forEach(this::cycle);
+            } finally {
+                cycleRunning.set(false);
+            }
+        });
+    }
+
+    /**
+     * Fetches the contacts of the tenant that changed since the previous cycle and applies them to the replica.
+     *
+     * @return the upstream calls the cycle took
+     */
+    public int cycle(String tenant) {
+        Instant startedAt = clock.instant();
+        Map<UUID, Change> changes = Optional.ofNullable(pending.remove(tenant)).orElse(Map.of());
+
+        List<Contact> upserts = new ArrayList<>();
+        Set<UUID> removals = new HashSet<>();
+        Map<UUID, Change> failed = new HashMap<>();
+        int calls = 0;
+        for (Map.Entry<UUID, Change> entry : changes.entrySet()) {
+            UUID id = entry.getKey();
+            Change change = entry.getValue();
+            if (change.deleted()) {
+                removals.add(id);
+                continue;
+            }
+            Optional<Instant> replicated = replica.updatedDate(tenant, id);
+            if (replicated.isPresent() && !replicated.get().isBefore(change.eventDate())) {
+                continue;
+            }
+
+            calls++;
+            try {
+                upserts.add(TenantContext.callAs(tenant, () -> lexofficeFeignClient.getContactById(id)));
+            } catch (LexofficeException e) {
+                if (e.getStatus() == HttpStatus.NOT_FOUND) {
+                    removals.add(id);
+                } else {
+                    failed.put(id, change);
+                }
+            } catch (RuntimeException e) {
+                failed.put(id, change);
+            }
+        }
+
+        failed.forEach((id, change) -> record(tenant, id, change));
+        // With changes left over the delta watermark stays where it was. The replica's freshness is never moved here,
+        // lost events are only caught by the next full sync
+        replica.apply(tenant, upserts, removals, failed.isEmpty() ? startedAt : null);
+
+        meterRegistry.summary("lexoffice.replica.sync.calls", "tenant", tenant, "type", "delta").record(calls);
+        meterRegistry.summary("lexoffice.replica.delta.changes", "tenant", tenant).record(upserts.size() + removals.size());
+        if (!changes.isEmpty()) {
+            log.info("Delta sync of tenant {} applied {} changed and {} deleted contacts in {} upstream calls, {} retried next cycle",
+                    tenant, upserts.size(), removals.size(), calls, failed.size());
+        }
+        return calls;
+    }
+
+    private void record(String tenant, UUID id, Change change) {
+        pending.compute(tenant, (t, changes) -> {
+            Map<UUID, Change> updated = changes != null ? changes : new HashMap<>();
+            updated.merge(id, change, (previous, latest) -> latest.eventDate().isBefore(previous.eventDate()) ? previous : latest);
+            return updated;
+        });
+    }
+
+    private record Change(boolean deleted, Instant eventDate) {
+    }
+}
@@ -0,0 +1,760 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.haucky.lexofficeadapter.common.dto.CompanyContactPerson;
+import com.haucky.lexofficeadapter.common.dto.Roles;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory replica of all contacts of every configured tenant, kept current by paging through the contacts in the
+ * background. Reads are answered from the replica as long as its last completed sync is younger than the staleness
+ * bound, otherwise (and for contacts it does not know yet, e.g. just created ones) callers fall back to Lexoffice.
+ * <p>
+ * Pages are cut from the replica in the order Lexoffice returned the contacts and carry the same paging metadata
+ * Lexoffice would. The filters mirror Lexoffice's: {@code name} and {@code email} match case-insensitively anywhere in
+ * the company and contact person names or email addresses ({@code %} and {@code _} as wildcards), {@code number} is
+ * the customer or vendor number and {@code customer}/{@code vendor} select contacts with or without that role. Name
+ * searches are narrowed through a {@link TrigramIndex} built with each full sync, email searches naming a domain
+ * through an {@link EmailIndex} updated with each change, instead of scanning all contacts. Filters are combined as
+ * bitmaps of replica positions (the roles are kept as bitmaps per snapshot) and pages are cut from the result.
+ * <p>
+ * Between full syncs, changes reported through contact events are applied by {@link ContactDeltaSync}, the full sync
+ * then only reconciles what events missed. Only a completed full sync makes the replica fresh: events may be lost, so
+ * applied changes move a delta watermark of their own but never the time of the last sync the staleness bound and
+ * {@code lexoffice.replica.lag} are measured from.
+ * <p>
+ * A full sync builds a compact, fully indexed snapshot outside of any lock and swaps it in. Changes in between are
+ * applied to the snapshot in place, at a cost proportional to the changes: a changed contact keeps its position, a new
+ * one is appended and a removed one is tombstoned. Positions changed since the full sync are candidates of every name
+ * search until the next full sync compacts the snapshot and rebuilds its name index.
+ * <p>
+ * Each completed sync is persisted in a {@link ReplicaSnapshotFile}. After a restart the persisted snapshots are
+ * restored before the first request and served (within the staleness bound), the next sync of a tenant is due once its
+ * restored snapshot is {@code sync-interval} old.
+ * <p>
+ * Full syncs read their pages within a {@link ReplicaSyncBudget} of their own, they only use rate limit permits
+ * requests leave over.
+ */
+public class ContactReplica {
+    private static final Logger log = LoggerFactory.getLogger(ContactReplica.class);
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("page", "size", "email", "name", "number", "customer", "vendor");
+    // Filters checked per contact, the others are answered by bitmaps alone
+    private static final Set<String> VERIFIED_PARAMETERS = Set.of("email", "name", "number");
+    // Lexoffice's page size if none is requested
+    private static final int DEFAULT_PAGE_SIZE = 25;
+
+    private final LexofficeFeignClient lexofficeFeignClient;
+    private final LexofficeTenantRegistry tenantRegistry;
+    private final LexofficeApiProperties.Replica settings;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    // Null if the replica is not persisted
+    private final ReplicaSnapshotFile snapshotFile;
+    // Null if full syncs are not paced, e.g. in tests
+    private final ReplicaSyncBudget syncBudget;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Updated while the tenant's snapshot is swapped, so it moves along with the snapshots (and at most a swap ahead)
+    private final Map<String, EmailIndex> emailIndexes = new ConcurrentHashMap<>();
+    private final AtomicBoolean syncRunning = new AtomicBoolean();
+
+    public ContactReplica(LexofficeFeignClient lexofficeFeignClient, LexofficeTenantRegistry tenantRegistry,
+                          LexofficeApiProperties.Replica settings, ReplicaSnapshotFile snapshotFile,
+                          ReplicaSyncBudget syncBudget, Executor executor, MeterRegistry meterRegistry, Clock clock) {
+        this.lexofficeFeignClient = lexofficeFeignClient;
+        this.tenantRegistry = tenantRegistry;
+        this.settings = settings;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.snapshotFile = snapshotFile;
+        this.syncBudget = syncBudget;
+
+        for (String tenant : tenantRegistry.tenants()) {
+            Gauge.builder("lexoffice.replica.size", () -> snapshot(tenant).map(Snapshot::size).orElse(0))
+                    .tag("tenant", tenant)
+                    .description("Contacts held in the replica")
+                    .register(meterRegistry);
+            Gauge.builder("lexoffice.replica.lag", () -> snapshot(tenant)
+                            .map(s -> Duration.between(s.syncedAt(), clock.instant()).toMillis() / 1000.0)
+                            .orElse(Double.NaN))
+                    .tag("tenant", tenant)
+                    .description("Seconds since the start of the last completed full sync")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("lexoffice.replica.delta.lag", () -> snapshot(tenant)
+                            .map(Snapshot::deltaAppliedAt)
+                            .map(appliedAt -> Duration.between(appliedAt, clock.instant()).toMillis() / 1000.0)
+                            .orElse(Double.NaN))
+                    .tag("tenant", tenant)
+                    .description("Seconds since the start of the last delta cycle that applied all of its changes")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("lexoffice.replica.high.water.mark", () -> snapshot(tenant)
+                            .map(Snapshot::highWaterMark)
+                            .map(mark -> mark.toEpochMilli() / 1000.0)
+                            .orElse(Double.NaN))
+                    .tag("tenant", tenant)
+                    .description("Latest updatedDate of a contact in the replica")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Loads the persisted snapshots, reads are served from them right away if they are within the staleness bound.
+     * A tenant is synced again once its restored snapshot is {@code sync-interval} old, not right after the start.
+     */
+    public void restore() {
+        if (snapshotFile == null) {
+            return;
+        }
+        for (String tenant : tenantRegistry.tenants()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String result = "missing";
+            try {
+                Optional<ReplicaSnapshotFile.Snapshot> persisted = snapshotFile.read(tenant);
+                if (persisted.isPresent()) {
+                    List<Contact> contacts = persisted.get().contacts();
+                    snapshots.putIfAbsent(tenant, indexed(tenant, Snapshot.build(contacts, persisted.get().syncedAt())));
+                    result = "success";
+                    log.info("Replica of tenant {} restored with {} contacts synced at {}", tenant, contacts.size(),
+                            persisted.get().syncedAt());
+                }
+            } catch (IOException | RuntimeException e) {
+                result = "failure";
+                log.warn("Restoring replica of tenant {} failed, waiting for the first sync: {}", tenant, e.getMessage());
+            } finally {
+                sample.stop(meterRegistry.timer("lexoffice.replica.restore.duration", "tenant", tenant, "result", result));
+            }
+        }
+    }
+
+    /**
+     * Starts a sync of the tenants that are due in the background, unless the previous one is still running. Runs off
+     * the scheduler thread, a full sync of a large organisation takes a while.
+     */
+    @Scheduled(fixedDelayString = "${lexoffice.api.replica.sync-check-interval:1m}")
+    public void scheduleSync() {
+        if (!syncRunning.compareAndSet(false, true)) {
+            log.debug("Previous replica sync still running, skipping");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                syncDue();
+            } finally {
+                syncRunning.set(false);
+            }
+        });
+    }
+
+    /**
+     * Syncs every tenant without snapshot or whose snapshot is at least {@code sync-interval} old. A failed sync is
+     * retried with the next check.
+     */
+    public void syncDue() {
+        for (String tenant : tenantRegistry.tenants()) {
+            if (!isSyncDue(tenant)) {
+                continue;
+            }
+            try {
+                sync(tenant);
+            } catch (RuntimeException e) {
+                // The previous snapshot stays in place until it exceeds the staleness bound
+                log.warn("Replica sync of tenant {} failed: {}", tenant, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isSyncDue(String tenant) {
+        return snapshot(tenant)
+                .map(snapshot -> Duration.between(snapshot.syncedAt(), clock.instant()).compareTo(settings.getSyncInterval()) >= 0)
+                .orElse(true);
+    }
+
+    /**
+     * Pages through all contacts of the tenant and replaces its snapshot once the last page was read. Costs one
+     * upstream call per page, however few contacts changed, paced by the sync budget.
+     */
+    public void sync(String tenant) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Instant startedAt = clock.instant();
+        String result = "failure";
+        try {
+            // Changes applied from here on are replayed onto the next snapshot, the sync may read a contact before it
+            // is changed or removed
+            Snapshot started = snapshots.get(tenant);
+            int journalMark = started != null ? started.journalSize() : 0;
+            FullRead read = TenantContext.callAs(tenant, this::readAllContacts);
+            Snapshot current = snapshots.get(tenant);
+            List<Contact> reconciled = current != null
+                    ? current.reconcile(read.contacts().values(), startedAt)
+                    : List.copyOf(read.contacts().values());
+            // Built and indexed outside of any lock, reads and changes carry on with the current snapshot meanwhile
+            Snapshot next = indexed(tenant, Snapshot.build(reconciled, startedAt));
+            // Restored while the sync was reading, all of the restored snapshot's changes are new to the sync
+            swap(tenant, current, next, current == started ? journalMark : 0);
+            result = "success";
+            meterRegistry.summary("lexoffice.replica.sync.calls", "tenant", tenant, "type", "full").record(read.calls());
+            log.info("Replica of tenant {} synced with {} contacts in {} upstream calls", tenant, next.size(),
+                    read.calls());
+            persist(tenant, startedAt, next.contacts());
+        } finally {
+            sample.stop(meterRegistry.timer("lexoffice.replica.sync.duration", "tenant", tenant, "result", result));
+        }
+    }
+
+    /**
+     * Replaces the current snapshot of the tenant. Changes applied to the current one since the journal mark are
+     * replayed onto the next, changes arriving later wait for the swap and go to the next one.
+     */
+    private void swap(String tenant, Snapshot current, Snapshot next, int journalMark) {
+        if (current == null) {
+            snapshots.put(tenant, next);
+            return;
+        }
+        current.retire(next, journalMark, emailIndex(tenant), () -> snapshots.put(tenant, next));
+    }
+
+    private void persist(String tenant, Instant syncedAt, List<Contact> contacts) {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            snapshotFile.write(tenant, syncedAt, contacts);
+        } catch (IOException e) {
+            // Only costs the instant restart, the in-memory replica is current
+            log.warn("Persisting replica of tenant {} failed: {}", tenant, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies changed and deleted contacts to the replica of the tenant. A contact is only replaced by a newer
+     * version, contacts the replica does not know yet are appended and removed ones tombstoned, so a call costs in
+     * proportion to its changes; callers pass the changes of a delta cycle at once. Without a snapshot to apply them
+     * to (no sync completed yet) the changes are dropped, the first sync reads them anyway. The freshness of the
+     * replica is left as it is, only a full sync renews it.
+     *
+     * @param deltaAsOf all reported changes up to this point in time are applied, moves the delta watermark; null if
+     *                  changes are left over
+     */
+    public void apply(String tenant, Collection<Contact> upserts, Collection<UUID> removals, Instant deltaAsOf) {
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            // A cycle without changes says nothing about events that were lost
+            return;
+        }
+        Change change = new Change(List.copyOf(upserts), List.copyOf(removals));
+        EmailIndex emails = emailIndex(tenant);
+        Snapshot current;
+        do {
+            current = snapshots.get(tenant);
+            // Retired by a full sync in the meantime, the change goes to its successor
+        } while (current != null && !current.apply(change, deltaAsOf, emails));
+    }
+
+    /**
+     * Brings the email index of the tenant in line with a snapshot replacing all contacts, contacts whose addresses
+     * did not change cost a lookup.
+     */
+    private Snapshot indexed(String tenant, Snapshot next) {
+        EmailIndex emails = emailIndex(tenant);
+        next.contacts.forEach(emails::put);
+        emails.retainAll(next.positions.keySet());
+        return next;
+    }
+
+    private EmailIndex emailIndex(String tenant) {
+        return emailIndexes.computeIfAbsent(tenant, t -> new EmailIndex());
+    }
+
+    /**
+     * @return when the replicated contact of the tenant was last updated in Lexoffice, regardless of staleness
+     */
+    public Optional<Instant> updatedDate(String tenant, UUID id) {
+        return snapshot(tenant)
+                .flatMap(snapshot -> snapshot.get(id))
+                .map(Contact::getUpdatedDate)
+                .map(ZonedDateTime::toInstant);
+    }
+
+    private static Contact newer(Contact replicated, Contact candidate) {
+        if (replicated.getVersion() != null && candidate.getVersion() != null
+                && replicated.getVersion() > candidate.getVersion()) {
+            return replicated;
+        }
+        return candidate;
+    }
+
+    private FullRead readAllContacts() {
+        // Pages may shift while contacts are created during the sync, a contact read twice is kept once
+        Map<UUID, Contact> contacts = new LinkedHashMap<>();
+        String tenant = TenantContext.currentTenant();
+        Long previousPageNanos = null;
+        for (int page = 0; ; page++) {
+            if (syncBudget != null) {
+                syncBudget.awaitPage(tenant, previousPageNanos);
+                previousPageNanos = System.nanoTime();
+            }
+            ContactsPage contactsPage = lexofficeFeignClient.getAllContactsWithFilter(
+                    Map.of("page", String.valueOf(page), "size", String.valueOf(settings.getPageSize())));
+            List<Contact> content = contactsPage.getContent() != null ? contactsPage.getContent() : List.of();
+            content.forEach(contact -> contacts.put(contact.getId(), contact));
+            meterRegistry.counter("lexoffice.replica.sync.contacts", "tenant", tenant).increment(content.size());
+
+            boolean lastPage = Boolean.TRUE.equals(contactsPage.getLast()) || content.isEmpty()
+                    || (contactsPage.getTotalPages() != null && page + 1 >= contactsPage.getTotalPages());
+            if (lastPage) {
+                return new FullRead(contacts, page + 1);
+            }
+        }
+    }
+
+    /**
+     * @return the contact of the current tenant, empty if the replica is stale or does not know the contact
+     */
+    public Optional<Contact> findById(UUID id) {
+        return freshSnapshot().flatMap(snapshot -> snapshot.get(id));
+    }
+
+    /**
+     * @param queryParams the parameters of the Lexoffice list call
+     * @return the page of the current tenant, empty if the replica is stale or the query cannot be answered from it
+     */
+    public Optional<ContactsPage> findPage(Map<String, String> queryParams) {
+        if (!SUPPORTED_PARAMETERS.containsAll(queryParams.keySet())) {
+            return Optional.empty();
+        }
+        EmailIndex emails = emailIndex(TenantContext.currentTenant());
+        return freshSnapshot().map(snapshot -> snapshot.read(() -> page(snapshot, emails, queryParams)));
+    }
+
+    /**
+     * @return time since the snapshot of the current tenant was taken, empty if it is stale
+     */
+    public Optional<Duration> age() {
+        return freshSnapshot().map(snapshot -> Duration.between(snapshot.syncedAt(), clock.instant()));
+    }
+
+    private Optional<Snapshot> freshSnapshot() {
+        return snapshot(TenantContext.currentTenant())
+                .filter(snapshot -> Duration.between(snapshot.syncedAt(), clock.instant()).compareTo(settings.getMaxStaleness()) <= 0);
+    }
+
+    private Optional<Snapshot> snapshot(String tenant) {
+        return Optional.ofNullable(snapshots.get(tenant));
+    }
+
+    /**
+     * Cuts the page from the bitmap of matching positions, only the contacts on the page are collected.
+     */
+    private static ContactsPage page(Snapshot snapshot, EmailIndex emails, Map<String, String> queryParams) {
+        int number = Integer.parseInt(queryParams.getOrDefault("page", "0"));
+        int size = Integer.parseInt(queryParams.getOrDefault("size", String.valueOf(DEFAULT_PAGE_SIZE)));
+        BitSet matching = matching(snapshot, emails, queryParams);
+        int totalElements = matching.cardinality();
+
+        List<Contact> content = new ArrayList<>(Math.min(size, totalElements));
+        long skip = (long) number * size;
+        for (int position = matching.nextSetBit(0); position >= 0 && content.size() < size;
+             position = matching.nextSetBit(position + 1)) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(snapshot.contacts.get(position));
+            }
+        }
+        int totalPages = (totalElements + size - 1) / size;
+
+        ContactsPage page = new ContactsPage();
+        page.setContent(content);
+        page.setNumber(number);
+        page.setSize(size);
+        page.setNumberOfElements(content.size());
+        page.setTotalElements(totalElements);
+        page.setTotalPages(totalPages);
+        page.setFirst(number == 0);
+        page.setLast(number >= totalPages - 1);
+        return page;
+    }
+
+    /**
+     * Evaluates a query as a bitmap over replica positions. The role filters are exact and intersected as bitmaps, a
+     * name search is narrowed to the contacts holding all trigrams of the term and an email search to the contacts
+     * with an address in the domain the term names. Only the contacts left are checked against the search terms and
+     * the number.
+     */
+    private static BitSet matching(Snapshot snapshot, EmailIndex emails, Map<String, String> queryParams) {
+        // Tombstoned positions are left out right away
+        BitSet matching = (BitSet) snapshot.live.clone();
+        if (queryParams.containsKey("customer")) {
+            role(matching, snapshot.customers, Boolean.parseBoolean(queryParams.get("customer")));
+        }
+        if (queryParams.containsKey("vendor")) {
+            role(matching, snapshot.vendors, Boolean.parseBoolean(queryParams.get("vendor")));
+        }
+        Optional.ofNullable(queryParams.get("name"))
+                .flatMap(snapshot.names::candidates)
+                .ifPresent(positions -> {
+                    // Positions changed since the full sync are not in the name index, they are checked one by one
+                    BitSet candidates = bitmap(positions);
+                    candidates.or(snapshot.unindexedNames);
+                    matching.and(candidates);
+                });
+        Optional.ofNullable(queryParams.get("email"))
+                .flatMap(term -> emailCandidates(snapshot, emails, term))
+                .ifPresent(matching::and);
+
+        if (VERIFIED_PARAMETERS.stream().noneMatch(queryParams::containsKey)) {
+            return matching;
+        }
+        Predicate<Contact> filter = filter(queryParams);
+        for (int position = matching.nextSetBit(0); position >= 0; position = matching.nextSetBit(position + 1)) {
+            if (!filter.test(snapshot.contacts.get(position))) {
+                matching.clear(position);
+            }
+        }
+        return matching;
+    }
+
+    private static void role(BitSet matching, BitSet withRole, boolean present) {
+        if (present) {
+            matching.and(withRole);
+        } else {
+            matching.andNot(withRole);
+        }
+    }
+
+    private static BitSet bitmap(int[] positions) {
+        BitSet bitmap = new BitSet();
+        for (int position : positions) {
+            bitmap.set(position);
+        }
+        return bitmap;
+    }
+
+    /**
+     * The {@code @} of a term can only match the {@code @} of an address, the literal characters following it start
+     * the domain. Terms without {@code @}, or with a wildcard right after it, cannot be narrowed.
+     */
+    private static Optional<BitSet> emailCandidates(Snapshot snapshot, EmailIndex emails, String term) {
+        int at = term.indexOf('@');
+        String domainPrefix = at < 0 ? "" : term.substring(at + 1).split("[%_]", -1)[0];
+        if (domainPrefix.isEmpty()) {
+            return Optional.empty();
+        }
+        BitSet candidates = new BitSet();
+        for (UUID id : emails.inDomainStartingWith(domainPrefix)) {
+            // Ids come from an index possibly a swap ahead of the snapshot, those the snapshot does not hold are dropped
+            Integer position = snapshot.positions.get(id);
+            if (position != null) {
+                candidates.set(position);
+            }
+        }
+        return Optional.of(candidates);
+    }
+
+    /**
+     * The search terms and number, the roles are evaluated as bitmaps.
+     */
+    private static Predicate<Contact> filter(Map<String, String> queryParams) {
+        Predicate<Contact> filter = contact -> true;
+        if (queryParams.containsKey("name")) {
+            Pattern pattern = likePattern(queryParams.get("name"));
+            filter = filter.and(contact -> names(contact).stream().anyMatch(name -> pattern.matcher(name).find()));
+        }
+        if (queryParams.containsKey("email")) {
+            Pattern pattern = likePattern(queryParams.get("email"));
+            filter = filter.and(contact -> EmailIndex.emailAddresses(contact)
+                    .anyMatch(email -> pattern.matcher(email).find()));
+        }
+        if (queryParams.containsKey("number")) {
+            Integer number = Integer.valueOf(queryParams.get("number"));
+            filter = filter.and(contact -> contact.getRoles() != null
+                    && ((contact.getRoles().getCustomer() != null && number.equals(contact.getRoles().getCustomer().getNumber()))
+                    || (contact.getRoles().getVendor() != null && number.equals(contact.getRoles().getVendor().getNumber()))));
+        }
+        return filter;
+    }
+
+    private static boolean hasRole(Contact contact, Function<Roles, Object> role) {
+        return contact.getRoles() != null && role.apply(contact.getRoles()) != null;
+    }
+
+    private static List<String> names(Contact contact) {
+        if (contact.getCompany() == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        if (contact.getCompany().getName() != null) {
+            names.add(contact.getCompany().getName());
+        }
+        if (contact.getCompany().getContactPersons() != null) {
+            for (CompanyContactPerson person : contact.getCompany().getContactPersons()) {
+                String name = Stream.of(person.getFirstName(), person.getLastName())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.joining(" "));
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Translates a Lexoffice search term into a case-insensitive "contains" pattern, {@code %} matches any number of
+     * characters and {@code _} exactly one.
+     */
+    private static Pattern likePattern(String term) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : term.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_') {
+                regex.append(Pattern.quote(literal.toString())).append(c == '%' ? ".*" : ".");
+                literal.setLength(0);
+            } else {
+                literal.append(c);
+            }
+        }
+        regex.append(Pattern.quote(literal.toString()));
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * Replica of one tenant. Built by a full sync, changes are applied in place under the write lock while reads hold
+     * the read lock. Retired once the next full sync swapped in its successor, changes then go to that one.
+     */
+    private static final class Snapshot {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // By position, null where a contact was removed
+        private final List<Contact> contacts;
+        private final Map<UUID, Integer> positions;
+        // Only covers the positions as of the full sync
+        private final TrigramIndex names;
+        private final BitSet unindexedNames = new BitSet();
+        private final BitSet live;
+        private final BitSet customers;
+        private final BitSet vendors;
+        // Start of the full sync that built the snapshot
+        private final Instant syncedAt;
+        // Changes applied since the full sync, replayed onto the successor if they come in while it is built
+        private final List<Change> journal = new ArrayList<>();
+
+        // Latest updatedDate of a replicated contact, null if Lexoffice returned none
+        private volatile Instant highWaterMark;
+        // Start of the last delta cycle that applied all of its changes, null if none did since the full sync
+        private volatile Instant deltaAppliedAt;
+        private volatile int size;
+        private boolean retired;
+
+        private Snapshot(List<Contact> contacts, Instant syncedAt) {
+            this.contacts = new ArrayList<>(contacts);
+            this.positions = new HashMap<>(contacts.size() * 4 / 3 + 1);
+            this.live = new BitSet(contacts.size());
+            this.customers = new BitSet(contacts.size());
+            this.vendors = new BitSet(contacts.size());
+            this.syncedAt = syncedAt;
+            for (int position = 0; position < contacts.size(); position++) {
+                index(position, contacts.get(position));
+            }
+            this.size = contacts.size();
+            this.names = TrigramIndex.build(contacts.size(), position -> names(contacts.get(position)));
+        }
+
+        static Snapshot build(List<Contact> contacts, Instant syncedAt) {
+            return new Snapshot(contacts, syncedAt);
+        }
+
+        Instant syncedAt() {
+            return syncedAt;
+        }
+
+        Instant highWaterMark() {
+            return highWaterMark;
+        }
+
+        Instant deltaAppliedAt() {
+            return deltaAppliedAt;
+        }
+
+        int size() {
+            return size;
+        }
+
+        Optional<Contact> get(UUID id) {
+            return read(() -> {
+                Integer position = positions.get(id);
+                return Optional.ofNullable(position != null ? contacts.get(position) : null);
+            });
+        }
+
+        <T> T read(Supplier<T> reader) {
+            lock.readLock().lock();
+            try {
+                return reader.get();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Keeps changes applied from events while a full sync was running, the sync may have read those contacts
+         * before they changed or not at all.
+         */
+        List<Contact> reconcile(Collection<Contact> read, Instant startedAt) {
+            Map<UUID, Contact> reconciled = new LinkedHashMap<>();
+            read.forEach(contact -> reconciled.put(contact.getId(), contact));
+            return read(() -> {
+                for (Contact contact : contacts) {
+                    if (contact == null) {
+                        continue;
+                    }
+                    if (reconciled.containsKey(contact.getId())) {
+                        reconciled.merge(contact.getId(), contact, ContactReplica::newer);
+                    } else if (contact.getUpdatedDate() != null && contact.getUpdatedDate().toInstant().isAfter(startedAt)) {
+                        reconciled.put(contact.getId(), contact);
+                    }
+                }
+                return List.copyOf(reconciled.values());
+            });
+        }
+
+        int journalSize() {
+            return read(journal::size);
+        }
+
+        /**
+         * @return the contacts held, in position order without tombstones
+         */
+        List<Contact> contacts() {
+            return read(() -> contacts.stream().filter(Objects::nonNull).toList());
+        }
+
+        /**
+         * @return false if the snapshot was retired, the change was not applied
+         */
+        boolean apply(Change change, Instant deltaAsOf, EmailIndex emails) {
+            lock.writeLock().lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                applyChange(change, emails);
+                journal.add(change);
+                if (deltaAsOf != null && (deltaAppliedAt == null || deltaAsOf.isAfter(deltaAppliedAt))) {
+                    deltaAppliedAt = deltaAsOf;
+                }
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Replays the changes journaled since the mark onto the successor and swaps it in, changes wait meanwhile.
+         */
+        void retire(Snapshot successor, int journalMark, EmailIndex emails, Runnable swap) {
+            lock.writeLock().lock();
+            try {
+                for (Change change : journal.subList(journalMark, journal.size())) {
+                    successor.applyChange(change, emails);
+                }
+                retired = true;
+                swap.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Removals first, a contact removed and created again within a change ends up appended
+        private void applyChange(Change change, EmailIndex emails) {
+            for (UUID id : change.removals()) {
+                Integer position = positions.remove(id);
+                if (position != null) {
+                    contacts.set(position, null);
+                    live.clear(position);
+                    customers.clear(position);
+                    vendors.clear(position);
+                    unindexedNames.clear(position);
+                    size--;
+                }
+                emails.remove(id);
+            }
+            for (Contact contact : change.upserts()) {
+                Integer position = positions.get(contact.getId());
+                if (position == null) {
+                    position = contacts.size();
+                    contacts.add(contact);
+                    size++;
+                } else if (newer(contacts.get(position), contact) != contact) {
+                    continue;
+                } else {
+                    contacts.set(position, contact);
+                }
+                index(position, contact);
+                unindexedNames.set(position);
+                emails.put(contact);
+            }
+        }
+
+        private void index(int position, Contact contact) {
+            positions.put(contact.getId(), position);
+            live.set(position);
+            customers.set(position, hasRole(contact, Roles::getCustomer));
+            vendors.set(position, hasRole(contact, Roles::getVendor));
+            if (contact.getUpdatedDate() != null
+                    && (highWaterMark == null || contact.getUpdatedDate().toInstant().isAfter(highWaterMark))) {
+                highWaterMark = contact.getUpdatedDate().toInstant();
+            }
+        }
+    }
+
+    /**
+     * Changed and deleted contacts applied together, as reported by one delta cycle.
+     */
+    private record Change(List<Contact> upserts, List<UUID> removals) {
+    }
+
+    private record FullRead(Map<UUID, Contact> contacts, int calls) {
+    }
+}
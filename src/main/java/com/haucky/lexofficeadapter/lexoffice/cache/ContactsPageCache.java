@@ -0,0 +1,115 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of list results, namespaced by tenant and keyed by the normalised query parameters: parameter
+ * order does not matter and the name and email filters are case-folded. Bounded by the estimated size of the cached
+ * pages, taken from the number of contacts they hold.
+ * <p>
+ * A miss is loaded on the calling thread outside of the cache map and put afterwards, so a list call waiting for its
+ * rate limit permits locks neither other keys nor the (possibly virtual) thread. Concurrent misses are coalesced by
+ * the loader (see {@link com.haucky.lexofficeadapter.lexoffice.resilience.SingleFlight}), not by the cache.
+ * <p>
+ * Every hit is a list call that did not go upstream. Pages of a tenant are invalidated when a contact is created
+ * through the adapter, changes made directly in Lexoffice show up once the short TTL expired.
+ */
+public class ContactsPageCache {
+    private static final Set<String> CASE_INSENSITIVE_PARAMETERS = Set.of("name", "email");
+    // Estimated size of the page metadata and of each contact on the page, a contact serialises to about 1 KB
+    private static final int PAGE_WEIGHT = 256;
+    private static final int CONTACT_WEIGHT = 1024;
+
+    private final Cache<Key, ContactsPage> cache;
+    // Per tenant, moved by each invalidation so loads started before it are not cached
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ContactsPageCache(LexofficeApiProperties.PageCache settings, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(settings.getTtl())
+                .maximumWeight(settings.getMaxSize().toBytes())
+                .weigher((Key key, ContactsPage page) -> weigh(page))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lexoffice.contactPages");
+    }
+
+    /**
+     * Returns the cached page of the current tenant, loading it on a miss.
+     */
+    public ContactsPage get(Map<String, String> queryParams, Supplier<ContactsPage> loader) {
+        Key key = key(queryParams);
+        ContactsPage cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        AtomicLong generation = generation(key.tenant());
+        long loadedIn = generation.get();
+        ContactsPage page = loader.get();
+        if (page != null && generation.get() == loadedIn) {
+            cache.put(key, page);
+        }
+        return page;
+    }
+
+    public ContactsPage getIfPresent(Map<String, String> queryParams) {
+        return cache.getIfPresent(key(queryParams));
+    }
+
+    public void put(Map<String, String> queryParams, ContactsPage page) {
+        cache.put(key(queryParams), page);
+    }
+
+    /**
+     * Invalidates all pages of the current tenant.
+     */
+    public void invalidateCurrentTenant() {
+        String tenant = TenantContext.currentTenant();
+        generation(tenant).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.tenant().equals(tenant));
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static Key key(Map<String, String> queryParams) {
+        SortedMap<String, String> normalised = new TreeMap<>();
+        queryParams.forEach((name, value) -> normalised.put(name,
+                CASE_INSENSITIVE_PARAMETERS.contains(name) ? value.toLowerCase(Locale.ROOT) : value));
+        return new Key(TenantContext.currentTenant(), normalised);
+    }
+
+    private AtomicLong generation(String tenant) {
+        return generations.computeIfAbsent(tenant, t -> new AtomicLong());
+    }
+
+    private static int weigh(ContactsPage page) {
+        int contacts = page.getContent() != null ? page.getContent().size() : 0;
+        return PAGE_WEIGHT + contacts * CONTACT_WEIGHT;
+    }
+
+    private record Key(String tenant, SortedMap<String, String> queryParams) {
+    }
+}
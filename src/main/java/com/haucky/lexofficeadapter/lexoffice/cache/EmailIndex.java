@@ -0,0 +1,171 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.haucky.lexofficeadapter.common.dto.CompanyContactPerson;
+import com.haucky.lexofficeadapter.common.dto.EmailAddresses;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index from the email addresses of contacts (business, office, private, other and those of company contact
+ * persons) to the ids of the contacts holding them. Addresses and domains are kept case folded in sorted maps, so next
+ * to exact lookups a prefix of an address or a domain is a range of the map. The domain is everything after the last
+ * {@code @}.
+ * <p>
+ * The index is updated per contact. Lookups may run concurrently with updates, updates of the same contact are expected
+ * one after another.
+ */
+public class EmailIndex {
+    private final ConcurrentSkipListMap<String, Set<UUID>> byAddress = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Set<UUID>> byDomain = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Set<String>> addressesById = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes the current addresses of the contact, addresses it no longer holds are removed.
+     */
+    public void put(Contact contact) {
+        Set<String> addresses = addresses(contact);
+        Set<String> previous = addresses.isEmpty()
+                ? addressesById.remove(contact.getId())
+                : addressesById.put(contact.getId(), addresses);
+        update(contact.getId(), previous != null ? previous : Set.of(), addresses);
+    }
+
+    public void remove(UUID id) {
+        Set<String> previous = addressesById.remove(id);
+        if (previous != null) {
+            update(id, previous, Set.of());
+        }
+    }
+
+    /**
+     * Removes all contacts except the given ones.
+     */
+    public void retainAll(Collection<UUID> ids) {
+        Set<UUID> retained = ids instanceof Set<UUID> set ? set : new HashSet<>(ids);
+        List<UUID> removed = addressesById.keySet().stream().filter(id -> !retained.contains(id)).toList();
+        removed.forEach(this::remove);
+    }
+
+    public Set<UUID> exact(String address) {
+        return Set.copyOf(byAddress.getOrDefault(fold(address), Set.of()));
+    }
+
+    /**
+     * @return contacts with an address starting with the prefix, e.g. {@code info@} or {@code max.mustermann}
+     */
+    public Set<UUID> startingWith(String prefix) {
+        return union(range(byAddress, fold(prefix)));
+    }
+
+    /**
+     * @return contacts with an address in exactly this domain, e.g. {@code haucky.com}
+     */
+    public Set<UUID> inDomain(String domain) {
+        return Set.copyOf(byDomain.getOrDefault(fold(domain), Set.of()));
+    }
+
+    /**
+     * @return contacts with an address in a domain starting with the prefix, e.g. {@code haucky.} for all top-level
+     * domains
+     */
+    public Set<UUID> inDomainStartingWith(String prefix) {
+        return union(range(byDomain, fold(prefix)));
+    }
+
+    public int addresses() {
+        return byAddress.size();
+    }
+
+    private void update(UUID id, Set<String> previous, Set<String> current) {
+        for (String address : previous) {
+            if (!current.contains(address)) {
+                removeId(byAddress, address, id);
+            }
+        }
+        for (String address : current) {
+            if (!previous.contains(address)) {
+                addId(byAddress, address, id);
+            }
+        }
+
+        Set<String> previousDomains = domains(previous);
+        Set<String> currentDomains = domains(current);
+        for (String domain : previousDomains) {
+            if (!currentDomains.contains(domain)) {
+                removeId(byDomain, domain, id);
+            }
+        }
+        for (String domain : currentDomains) {
+            if (!previousDomains.contains(domain)) {
+                addId(byDomain, domain, id);
+            }
+        }
+    }
+
+    private static void addId(ConcurrentSkipListMap<String, Set<UUID>> index, String key, UUID id) {
+        index.compute(key, (k, ids) -> {
+            Set<UUID> updated = ids != null ? ids : ConcurrentHashMap.newKeySet(1);
+            updated.add(id);
+            return updated;
+        });
+    }
+
+    private static void removeId(ConcurrentSkipListMap<String, Set<UUID>> index, String key, UUID id) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static NavigableMap<String, Set<UUID>> range(ConcurrentSkipListMap<String, Set<UUID>> index, String prefix) {
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static Set<UUID> union(NavigableMap<String, Set<UUID>> range) {
+        return range.values().stream().flatMap(Set::stream).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Set<String> domains(Set<String> addresses) {
+        return addresses.stream()
+                .map(address -> address.substring(address.lastIndexOf('@') + 1))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> addresses(Contact contact) {
+        return emailAddresses(contact)
+                .map(EmailIndex::fold)
+                .filter(address -> !address.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    static Stream<String> emailAddresses(Contact contact) {
+        Stream<String> addresses = Stream.empty();
+        EmailAddresses emailAddresses = contact.getEmailAddresses();
+        if (emailAddresses != null) {
+            addresses = Stream.of(emailAddresses.getBusiness(), emailAddresses.getOffice(), emailAddresses.getPrivate_(),
+                            emailAddresses.getOther())
+                    .flatMap(list -> list != null ? list.stream() : Stream.empty());
+        }
+        if (contact.getCompany() != null && contact.getCompany().getContactPersons() != null) {
+            addresses = Stream.concat(addresses, contact.getCompany().getContactPersons().stream()
+                    .map(CompanyContactPerson::getEmailAddress));
+        }
+        return addresses.filter(Objects::nonNull);
+    }
+
+    private static String fold(String address) {
+        return TrigramIndex.fold(address);
+    }
+}
@@ -0,0 +1,71 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.events.LexofficeEventVerifier;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background work of the contact caches (refresh-ahead, write-through after creates, replica syncs), kept off the
+ * request threads.
+ */
+@Configuration
+public class LexofficeCacheConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService lexofficeCacheExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lexoffice-cache-", 0).factory());
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "lexoffice-cache-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean(initMethod = "restore")
+    @ConditionalOnProperty(name = "lexoffice.api.replica.enabled", havingValue = "true")
+    public ContactReplica contactReplica(LexofficeFeignClient lexofficeFeignClient, LexofficeTenantRegistry tenantRegistry,
+                                         LexofficeApiProperties properties, RateLimiterRegistry lexofficeRateLimiters,
+                                         ExecutorService lexofficeCacheExecutor, MeterRegistry meterRegistry) {
+        LexofficeApiProperties.Replica settings = properties.getReplica();
+        ReplicaSnapshotFile snapshotFile = settings.isPersist() ? new ReplicaSnapshotFile(settings.getSnapshotDirectory()) : null;
+        ReplicaSyncBudget syncBudget = new ReplicaSyncBudget(lexofficeRateLimiters, properties, meterRegistry);
+        return new ContactReplica(lexofficeFeignClient, tenantRegistry, settings, snapshotFile, syncBudget,
+                lexofficeCacheExecutor, meterRegistry, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = {"lexoffice.api.replica.enabled", "lexoffice.api.replica.delta.enabled"}, havingValue = "true")
+    public ContactDeltaSync contactDeltaSync(ContactReplica contactReplica, LexofficeFeignClient lexofficeFeignClient,
+                                             LexofficeTenantRegistry tenantRegistry, ExecutorService lexofficeCacheExecutor,
+                                             MeterRegistry meterRegistry) {
+        return new ContactDeltaSync(contactReplica, lexofficeFeignClient, tenantRegistry, lexofficeCacheExecutor,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = {"lexoffice.api.replica.enabled", "lexoffice.api.replica.delta.enabled"}, havingValue = "true")
+    public LexofficeEventVerifier lexofficeEventVerifier(LexofficeApiProperties properties) {
+        String publicKey = properties.getReplica().getDelta().getPublicKey();
+        if (publicKey == null || publicKey.isBlank()) {
+            throw new IllegalStateException("lexoffice.api.replica.delta.public-key is required for the delta sync");
+        }
+        return new LexofficeEventVerifier(publicKey);
+    }
+}
@@ -0,0 +1,142 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Persists a replica snapshot of one tenant in a memory-mapped file, so a restarted adapter can serve reads before its
+ * first sync finished.
+ * <p>
+ * Layout: a header of magic, format version, sync time (epoch millis), contact count and CRC32 of the records,
+ * followed by one record per contact, a length prefix and the contact as Smile (binary JSON). Files are written to a
+ * temporary file and moved into place, a reader never sees a half written snapshot. A snapshot holds the contacts'
+ * personal data, temporary files are only readable by their owner on POSIX file systems and keep that when moved.
+ */
+public class ReplicaSnapshotFile {
+    private static final int MAGIC = 0x4C585250; // "LXRP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public ReplicaSnapshotFile(Path directory) {
+        this.directory = directory;
+        SmileMapper smileMapper = SmileMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        this.writer = smileMapper.writerFor(Contact.class);
+        this.reader = smileMapper.readerFor(Contact.class);
+    }
+
+    public void write(String tenant, Instant syncedAt, List<Contact> contacts) throws IOException {
+        List<byte[]> records = new ArrayList<>(contacts.size());
+        long size = HEADER_SIZE;
+        for (Contact contact : contacts) {
+            byte[] record = writer.writeValueAsBytes(contact);
+            records.add(record);
+            size += Integer.BYTES + record.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Replica snapshot of " + size + " bytes exceeds the size of a single mapping");
+        }
+
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, fileName(tenant), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.position(HEADER_SIZE);
+                for (byte[] record : records) {
+                    buffer.putInt(record.length).put(record);
+                }
+                buffer.putInt(0, MAGIC)
+                        .putInt(4, FORMAT_VERSION)
+                        .putLong(8, syncedAt.toEpochMilli())
+                        .putInt(16, records.size())
+                        .putInt(20, checksum(buffer.slice(HEADER_SIZE, (int) size - HEADER_SIZE)));
+                buffer.force();
+            }
+            Files.move(temporary, file(tenant), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @return the persisted snapshot of the tenant, empty if there is none or it is unreadable (e.g. corrupted or
+     * written by an incompatible version)
+     */
+    public Optional<Snapshot> read(String tenant) throws IOException {
+        Path file = file(tenant);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                    || buffer.getInt(20) != checksum(buffer.slice(HEADER_SIZE, (int) size - HEADER_SIZE))) {
+                return Optional.empty();
+            }
+
+            Instant syncedAt = Instant.ofEpochMilli(buffer.getLong(8));
+            int count = buffer.getInt(16);
+            List<Contact> contacts = new ArrayList<>(count);
+            byte[] record = new byte[0];
+            buffer.position(HEADER_SIZE);
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                if (record.length < length) {
+                    record = new byte[length];
+                }
+                buffer.get(record, 0, length);
+                contacts.add(reader.readValue(record, 0, length));
+            }
+            return Optional.of(new Snapshot(syncedAt, contacts));
+        }
+    }
+
+    public Path file(String tenant) {
+        return directory.resolve(fileName(tenant) + ".bin");
+    }
+
+    // Tenant ids come from configuration keys, but never let one escape the directory
+    private static String fileName(String tenant) {
+        return "replica-" + tenant.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private static int checksum(ByteBuffer records) {
+        CRC32 crc = new CRC32();
+        crc.update(records);
+        return (int) crc.getValue();
+    }
+
+    public record Snapshot(Instant syncedAt, List<Contact> contacts) {
+    }
+}
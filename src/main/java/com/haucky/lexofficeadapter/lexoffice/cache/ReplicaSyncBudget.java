@@ -0,0 +1,62 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps full replica syncs from competing with requests for the rate limit of a tenant. A sync reads at most
+ * {@code sync-permits-per-second} pages, and only while the tenant's rate limiter holds more than
+ * {@code sync-reserved-permits}, so requests still find a permit. Without a spare permit the sync backs off (doubling
+ * up to {@code sync-max-backoff}) instead of queueing in the rate limiter in front of requests.
+ */
+public class ReplicaSyncBudget {
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(250);
+
+    private final RateLimiterRegistry rateLimiters;
+    private final LexofficeApiProperties.Replica settings;
+    private final boolean rateLimitEnabled;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaSyncBudget(RateLimiterRegistry rateLimiters, LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiters = rateLimiters;
+        this.settings = properties.getReplica();
+        this.rateLimitEnabled = properties.getRateLimit().isEnabled();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Blocks until the sync of the tenant may read its next page.
+     *
+     * @param previousPageNanos {@link System#nanoTime()} when the previous page of the sync was read, null for the first
+     */
+    void awaitPage(String tenant, Long previousPageNanos) {
+        long start = System.nanoTime();
+        try {
+            if (previousPageNanos != null) {
+                long pageIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.getSyncPermitsPerSecond());
+                long remainingNanos = previousPageNanos + pageIntervalNanos - System.nanoTime();
+                if (remainingNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(remainingNanos);
+                }
+            }
+
+            Duration backoff = INITIAL_BACKOFF;
+            while (rateLimitEnabled && rateLimiters.forTenant(tenant).availablePermits() < settings.getSyncReservedPermits() + 1) {
+                TimeUnit.NANOSECONDS.sleep(backoff.toNanos());
+                backoff = backoff.multipliedBy(2).compareTo(settings.getSyncMaxBackoff()) < 0
+                        ? backoff.multipliedBy(2)
+                        : settings.getSyncMaxBackoff();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the replica sync budget", e);
+        } finally {
+            meterRegistry.timer("lexoffice.replica.sync.throttled", "tenant", tenant)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.haucky.lexofficeadapter.lexoffice.cache;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Inverted index from the trigrams (three consecutive characters, case folded) of names to the positions of the
+ * documents containing them. A search term of at least three characters is narrowed to the documents holding all of
+ * its trigrams by intersecting their posting lists. The index only pre-selects: callers still match the term against
+ * the candidates, e.g. "abcd" also selects a document holding "abc" and "bcd" apart.
+ * <p>
+ * Posting lists are sorted {@code int} arrays, so candidates come out in document order. The index is immutable and
+ * rebuilt with the documents.
+ */
+public class TrigramIndex {
+    private static final int[] NONE = new int[0];
+
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(Map<Long, int[]> postings) {
+        this.postings = postings;
+    }
+
+    /**
+     * @param documents number of documents, positions are {@code 0} to {@code documents - 1}
+     * @param names     the names of the document at a position
+     */
+    public static TrigramIndex build(int documents, IntFunction<List<String>> names) {
+        Map<Long, PostingList> building = new HashMap<>();
+        for (int position = 0; position < documents; position++) {
+            for (String name : names.apply(position)) {
+                if (name == null) {
+                    continue;
+                }
+                String folded = fold(name);
+                for (int i = 0; i + 3 <= folded.length(); i++) {
+                    building.computeIfAbsent(trigram(folded, i), t -> new PostingList()).add(position);
+                }
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((trigram, postingList) -> postings.put(trigram, postingList.toArray()));
+        return new TrigramIndex(postings);
+    }
+
+    /**
+     * @param term a Lexoffice search term, {@code %} and {@code _} are wildcards
+     * @return the sorted positions of all documents that may match the term, empty if the term has no three
+     * consecutive literal characters and cannot be narrowed by the index
+     */
+    public Optional<int[]> candidates(String term) {
+        String[] literals = fold(term).split("[%_]");
+        int[][] lists = Arrays.stream(literals)
+                .flatMap(literal -> IntStream.rangeClosed(0, literal.length() - 3)
+                        .mapToObj(i -> postings.getOrDefault(trigram(literal, i), NONE)))
+                .distinct()
+                .sorted(Comparator.comparingInt(list -> list.length))
+                .toArray(int[][]::new);
+        if (lists.length == 0) {
+            return Optional.empty();
+        }
+
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists[i]);
+        }
+        return Optional.of(candidates);
+    }
+
+    public int trigrams() {
+        return postings.size();
+    }
+
+    private static int[] intersect(int[] shorter, int[] longer) {
+        int[] result = new int[shorter.length];
+        int count = 0;
+        int from = 0;
+        for (int position : shorter) {
+            int found = Arrays.binarySearch(longer, from, longer.length, position);
+            if (found >= 0) {
+                result[count++] = position;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+            if (from == longer.length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Character-wise, so positions in the folded name are those of the original one and "İ", "ß" keep their length
+    static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static long trigram(String folded, int i) {
+        return ((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2);
+    }
+
+    // Growable posting list, a document holding a trigram more than once is added once
+    private static class PostingList {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.adapter.exception.UpstreamCallRejectedException;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundCall;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static com.haucky.lexofficeadapter.lexoffice.LexofficeConstants.LEXOFFICE_REQUEST_ID_KEY;
+
+/**
+ * Outermost Feign client stage, records every call in the {@link OutboundAuditLog}.
+ */
+class AuditingClient implements Client {
+    private final Client delegate;
+    private final OutboundAuditLog auditLog;
+
+    AuditingClient(Client delegate, OutboundAuditLog auditLog) {
+        this.delegate = delegate;
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        OutboundCall.OutboundCallBuilder call = OutboundCall.builder()
+                .timestamp(Instant.now())
+                .method(request.httpMethod().name())
+                .uriTemplate(uriTemplate(request));
+
+        try {
+            Response response = delegate.execute(request, options);
+            call.status(response.status()).requestId(requestId(response));
+            return response;
+        } catch (UpstreamCallRejectedException e) {
+            call.status(e.getStatus().value()).error(e.getTitle());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            call.error(e.getClass().getSimpleName() + ": " + e.getMessage());
+            throw e;
+        } finally {
+            auditLog.record(call.latencyMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).build());
+        }
+    }
+
+    // The template keeps path variables unresolved, so contact ids don't end up in the audit log
+    private static String uriTemplate(Request request) {
+        MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        if (metadata != null && metadata.template() != null) {
+            return metadata.template().path();
+        }
+        return request.requestTemplate() != null ? request.requestTemplate().path() : request.url();
+    }
+
+    private static String requestId(Response response) {
+        Collection<String> values = response.headers().get(LEXOFFICE_REQUEST_ID_KEY);
+        return values != null && !values.isEmpty() ? values.iterator().next() : null;
+    }
+}
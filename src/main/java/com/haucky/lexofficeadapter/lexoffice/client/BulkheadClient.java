@@ -0,0 +1,114 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.lexoffice.resilience.Bulkhead;
+import com.haucky.lexofficeadapter.lexoffice.resilience.BulkheadRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds a slot of the call class bulkhead for the duration of the physical call, which ends when the response body
+ * was read and closed (Feign closes it after decoding, streaming callers close it themselves). Releasing on the
+ * response headers would let further calls in while large bodies are still being transferred.
+ */
+class BulkheadClient implements Client {
+    private final Client delegate;
+    private final BulkheadRegistry bulkheads;
+
+    BulkheadClient(Client delegate, BulkheadRegistry bulkheads) {
+        this.delegate = delegate;
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Bulkhead bulkhead = bulkheads.forOperation(UpstreamOperation.of(request));
+        bulkhead.acquire();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+
+        if (response.body() == null) {
+            bulkhead.release();
+            return response;
+        }
+        return response.toBuilder()
+                .body(new ReleasingBody(response.body(), bulkhead))
+                .build();
+    }
+
+    // Releases the slot once, when either the body or the stream handed out by it is closed
+    private static class ReleasingBody implements Response.Body {
+        private final Response.Body delegate;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingBody(Response.Body delegate, Bulkhead bulkhead) {
+            this.delegate = delegate;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public Integer length() {
+            return delegate.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return delegate.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return new FilterInputStream(delegate.asInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Reader asReader() throws IOException {
+            return asReader(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            return new InputStreamReader(asInputStream(), charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
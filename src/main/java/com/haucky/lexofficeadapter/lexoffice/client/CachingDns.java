@@ -0,0 +1,56 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import okhttp3.Dns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps resolved addresses of the upstream host for a configurable TTL, so new connections do not pay a DNS lookup
+ * and the warm-up result survives until the first requests arrive.
+ * <p>
+ * If the host cannot be resolved after the TTL expired, the last known addresses are used until the resolver
+ * recovers, a flaky resolver must not take down calls to a host that has not moved.
+ */
+public class CachingDns implements Dns {
+    private static final Logger log = LoggerFactory.getLogger(CachingDns.class);
+
+    private final Dns delegate;
+    private final long ttlNanos;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public CachingDns(Dns delegate, Duration ttl) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        long now = System.nanoTime();
+        Entry entry = cache.get(hostname);
+        if (entry != null && now - entry.resolvedAtNanos() < ttlNanos) {
+            return entry.addresses();
+        }
+
+        try {
+            List<InetAddress> addresses = List.copyOf(delegate.lookup(hostname));
+            cache.put(hostname, new Entry(addresses, now));
+            return addresses;
+        } catch (UnknownHostException e) {
+            if (entry == null) {
+                throw e;
+            }
+            log.warn("Could not resolve {}, using last known addresses {}", hostname, entry.addresses());
+            return entry.addresses();
+        }
+    }
+
+    private record Entry(List<InetAddress> addresses, long resolvedAtNanos) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.adapter.exception.UpstreamCallRejectedException;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreaker;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreakerRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamAttempt;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Short-circuits calls to unhealthy upstream operations. Connection errors, timeouts and 5xx responses count as
+ * failures, any other response proves the upstream is reachable and counts as success.
+ * <p>
+ * The breaker is the outermost stage, so calls to an open circuit neither wait for nor consume a rate limit permit.
+ * Call durations are those of the physical call as measured by {@link TransportTimingClient}, waiting in the rate
+ * limiter or bulkhead does not make a call slow. Attempts cancelled by the caller (e.g. the slower attempt of a hedged
+ * request) are not recorded at all.
+ */
+class CircuitBreakingClient implements Client {
+    private final Client delegate;
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    CircuitBreakingClient(Client delegate, CircuitBreakerRegistry circuitBreakers) {
+        this.delegate = delegate;
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        CircuitBreaker circuitBreaker = circuitBreakers.forOperation(UpstreamOperation.of(request));
+        circuitBreaker.acquirePermission();
+
+        TransportTimingClient.reset();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (UpstreamCallRejectedException e) {
+            // Rejected by an inner stage (e.g. the rate limiter), the upstream was never involved
+            circuitBreaker.releasePermission();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            if (UpstreamAttempt.isCurrentCancelled()) {
+                circuitBreaker.releasePermission();
+            } else {
+                circuitBreaker.onFailure(callNanos(start));
+            }
+            throw e;
+        }
+
+        if (UpstreamAttempt.isCurrentCancelled()) {
+            circuitBreaker.releasePermission();
+        } else if (response.status() >= 500) {
+            circuitBreaker.onFailure(callNanos(start));
+        } else {
+            circuitBreaker.onSuccess(callNanos(start));
+        }
+        return response;
+    }
+
+    // Falls back to the whole stage if the transport is not timed, e.g. the client chain was assembled without it
+    private static long callNanos(long start) {
+        return TransportTimingClient.lastCallNanos().orElseGet(() -> System.nanoTime() - start);
+    }
+}
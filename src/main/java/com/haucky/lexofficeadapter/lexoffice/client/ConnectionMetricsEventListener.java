@@ -0,0 +1,64 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call OkHttp listener measuring how long a call waits until it holds a connection.
+ * For a warm pool this is close to zero, a cold pool additionally pays DNS, TCP connect and TLS handshake.
+ */
+class ConnectionMetricsEventListener extends EventListener {
+    private final Timer acquireTimer;
+    private final Counter connectsCounter;
+    private final Counter tlsHandshakesCounter;
+
+    private long callStartNanos;
+
+    private ConnectionMetricsEventListener(Timer acquireTimer, Counter connectsCounter, Counter tlsHandshakesCounter) {
+        this.acquireTimer = acquireTimer;
+        this.connectsCounter = connectsCounter;
+        this.tlsHandshakesCounter = tlsHandshakesCounter;
+    }
+
+    static EventListener.Factory factory(MeterRegistry meterRegistry) {
+        Timer acquireTimer = Timer.builder("lexoffice.http.connection.acquire")
+                .description("Time from call start until a pooled or new connection was acquired")
+                .register(meterRegistry);
+        Counter connectsCounter = Counter.builder("lexoffice.http.connections.opened")
+                .description("New TCP connections opened to the Lexoffice API")
+                .register(meterRegistry);
+        Counter tlsHandshakesCounter = Counter.builder("lexoffice.http.tls.handshakes")
+                .description("TLS handshakes performed for new connections")
+                .register(meterRegistry);
+
+        return call -> new ConnectionMetricsEventListener(acquireTimer, connectsCounter, tlsHandshakesCounter);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectsCounter.increment();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsHandshakesCounter.increment();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        acquireTimer.record(System.nanoTime() - callStartNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Decodes contact pages with the streaming {@link ContactsPageReader}, every other type is left to the default decoder.
+ */
+class ContactsPageDecoder implements Decoder {
+    private final Decoder delegate;
+    private final ContactsPageReader contactsPageReader;
+
+    ContactsPageDecoder(Decoder delegate, ContactsPageReader contactsPageReader) {
+        this.delegate = delegate;
+        this.contactsPageReader = contactsPageReader;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (type != ContactsPage.class || response.body() == null) {
+            return delegate.decode(response, type);
+        }
+
+        try (InputStream body = response.body().asInputStream()) {
+            return contactsPageReader.read(body);
+        } catch (ContactsPageReader.ResponseTooLargeException e) {
+            throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reads a page of contacts from the Lexoffice API straight from the response stream.
+ * <p>
+ * The response is walked with Jackson's token stream and each contact is bound as soon as its JSON object was read,
+ * so neither the raw body nor an intermediate tree is ever held in memory. Responses larger than
+ * {@code lexoffice.api.http.max-response-size} are aborted.
+ */
+@Component
+public class ContactsPageReader {
+    private final ObjectMapper objectMapper;
+    private final ObjectReader contactReader;
+    private final long maxResponseBytes;
+
+    private final DistributionSummary bytesSummary;
+    private final Timer decodeTimer;
+
+    public ContactsPageReader(ObjectMapper objectMapper, LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.contactReader = objectMapper.readerFor(Contact.class);
+        this.maxResponseBytes = properties.getHttp().getMaxResponseSize().toBytes();
+
+        this.bytesSummary = DistributionSummary.builder("lexoffice.decode.bytes")
+                .description("Size of decoded Lexoffice responses")
+                .baseUnit("bytes")
+                .tag("type", "contactsPage")
+                .register(meterRegistry);
+        this.decodeTimer = Timer.builder("lexoffice.decode.duration")
+                .description("Time spent reading and binding Lexoffice responses")
+                .tag("type", "contactsPage")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the whole page, including its content.
+     */
+    public ContactsPage read(InputStream body) throws IOException {
+        List<Contact> content = new ArrayList<>();
+        ContactsPage page = read(body, content::add);
+        page.setContent(content);
+        return page;
+    }
+
+    /**
+     * Reads the page and hands each contact to the consumer as soon as it was bound. The returned page only carries
+     * the paging metadata, its content is left empty.
+     */
+    public ContactsPage read(InputStream body, Consumer<Contact> contactConsumer) throws IOException {
+        long start = System.nanoTime();
+        CountingInputStream countingBody = new CountingInputStream(body, maxResponseBytes);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(countingBody)) {
+            ContactsPage page = new ContactsPage();
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object as contacts page, found " + parser.currentToken());
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "content" -> readContent(parser, value, contactConsumer);
+                    case "totalPages" -> page.setTotalPages(intValue(parser, value));
+                    case "totalElements" -> page.setTotalElements(intValue(parser, value));
+                    case "last" -> page.setLast(booleanValue(parser, value));
+                    case "size" -> page.setSize(intValue(parser, value));
+                    case "number" -> page.setNumber(intValue(parser, value));
+                    case "first" -> page.setFirst(booleanValue(parser, value));
+                    case "numberOfElements" -> page.setNumberOfElements(intValue(parser, value));
+                    // Unknown fields are ignored, like for all Lexoffice DTOs (e.g. sort)
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return page;
+        } finally {
+            bytesSummary.record(countingBody.count);
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void readContent(JsonParser parser, JsonToken value, Consumer<Contact> contactConsumer) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (value != JsonToken.START_ARRAY) {
+            throw new IOException("Expected an array as contacts page content, found " + value);
+        }
+
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            // Null elements carry no contact and are skipped, reading goes on with the rest of the page
+            if (element == JsonToken.START_OBJECT) {
+                contactConsumer.accept(contactReader.readValue(parser));
+            } else if (element != JsonToken.VALUE_NULL) {
+                throw new IOException("Expected a contact object in contacts page content, found " + element);
+            }
+        }
+    }
+
+    private static Integer intValue(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+    }
+
+    private static Boolean booleanValue(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean();
+    }
+
+    /**
+     * Exception thrown when the response exceeds the configured size.
+     */
+    public static class ResponseTooLargeException extends IOException {
+        ResponseTooLargeException(long maxBytes) {
+            super("Lexoffice response exceeds the limit of " + maxBytes + " bytes");
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long count;
+
+        CountingInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws ResponseTooLargeException {
+            count += read;
+            if (count > maxBytes) {
+                throw new ResponseTooLargeException(maxBytes);
+            }
+        }
+    }
+}
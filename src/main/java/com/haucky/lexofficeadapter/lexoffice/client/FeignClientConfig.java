@@ -1,114 +1,98 @@
 package com.haucky.lexofficeadapter.lexoffice.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
+import com.haucky.lexofficeadapter.lexoffice.resilience.BulkheadRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreakerRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
 import feign.Client;
-import feign.Logger;
 import feign.Request;
 import feign.RequestInterceptor;
-import feign.Response;
+import feign.Retryer;
+import feign.codec.Decoder;
 import feign.codec.ErrorDecoder;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import feign.optionals.OptionalDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration for Feign clients.
+ * <p>
+ * Calls are recorded by the sampled {@link OutboundAuditLog}. Feign's own request logging is off by default and can be
+ * switched on with {@code spring.cloud.openfeign.client.config.lexoffice-api.logger-level} for debugging. Note that
+ * level {@code FULL} buffers every response body, contact pages are then no longer decoded as a stream.
  */
 @Configuration
 public class FeignClientConfig {
 
-    @Value("${lexoffice.api.token}")
-    private String apiToken;
-
-    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(FeignClientConfig.class);
-
     @Bean
-    public Client feignClient() {
-        return new LoggingClient(new feign.okhttp.OkHttpClient());
+    public Client feignClient(okhttp3.OkHttpClient lexofficeOkHttpClient, RateLimiterRegistry lexofficeRateLimiters,
+                              CircuitBreakerRegistry lexofficeCircuitBreakers, BulkheadRegistry lexofficeBulkheads,
+                              OutboundAuditLog outboundAuditLog, LexofficeApiProperties properties) {
+        Client client = new TransportTimingClient(new feign.okhttp.OkHttpClient(lexofficeOkHttpClient));
+        if (properties.getBulkhead().isEnabled()) {
+            client = new BulkheadClient(client, lexofficeBulkheads);
+        }
+        // Rate limits are per tenant while bulkheads are shared, so a tenant waiting for its permits must not hold bulkhead slots
+        if (properties.getRateLimit().isEnabled()) {
+            client = new RateLimitingClient(client, lexofficeRateLimiters);
+        }
+        // Outermost, so calls to an open circuit neither wait for nor consume a rate limit permit. Slow calls are
+        // judged by the transport timing, not by the time spent in the stages in between
+        if (properties.getCircuitBreaker().isEnabled()) {
+            client = new CircuitBreakingClient(client, lexofficeCircuitBreakers);
+        }
+        return new AuditingClient(client, outboundAuditLog);
     }
 
+    /**
+     * Mirrors the timeouts of the shared OkHttp client. If they differ, feign-okhttp derives a new client per request.
+     */
     @Bean
-    public ErrorDecoder errorDecoder(ObjectMapper objectMapper) {
-        return new LexofficeErrorDecoder(objectMapper);
+    public Request.Options feignRequestOptions(LexofficeApiProperties properties) {
+        LexofficeApiProperties.Http http = properties.getHttp();
+        return new Request.Options(
+                http.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                http.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                true);
     }
 
     @Bean
-    public Logger.Level feignLoggerLevel() {
-        return Logger.Level.FULL;
+    public Retryer lexofficeRetryer(LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        return new LexofficeRetryer(properties.getRetry(), meterRegistry);
     }
 
+    /**
+     * Same decoder chain as the Spring Cloud OpenFeign default, with contact pages decoded as a stream.
+     */
     @Bean
-    public RequestInterceptor authorizationInterceptor() {
-        return template -> {
-            String token = "Bearer " + apiToken;
-            template.header("Authorization", token);
-            // Log a masked version of the token
-            String maskedToken = apiToken.substring(0, Math.min(5, apiToken.length())) + "...";
-            logger.info("Adding Authorization header: Bearer {}", maskedToken);
-        };
+    public Decoder lexofficeDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                    ObjectProvider<HttpMessageConverterCustomizer> customizers,
+                                    ContactsPageReader contactsPageReader) {
+        Decoder defaultDecoder = new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers)));
+        return new ContactsPageDecoder(defaultDecoder, contactsPageReader);
     }
 
-    static class LoggingClient implements Client {
-        private final Client delegate;
-
-        public LoggingClient(Client delegate) {
-            this.delegate = delegate;
-        }
-
-        @Override
-        public Response execute(Request request, Request.Options options) throws IOException {
-            // Log basic info at INFO level
-            logger.info("Executing request: {} {}", request.httpMethod().name(), request.url());
-
-            if (logger.isDebugEnabled()) {
-                logDetailedRequest(request);
-            }
-
-            try {
-                Response response = delegate.execute(request, options);
-
-                if (logger.isDebugEnabled()) {
-                    logDetailedResponse(response);
-                }
-
-                return response;
-            } catch (Exception e) {
-                logger.error("Error executing request: {}", e.getMessage(), e);
-                throw e;
-            }
-        }
-
-        private void logDetailedRequest(Request request) {
-            logger.debug("=== REQUEST ===");
-            logger.debug("URL: {} {}", request.httpMethod().name(), request.url());
-            logger.debug("Headers: ");
-
-            request.headers().forEach((name, values) -> {
-                values.forEach(value -> {
-                    if ("Authorization".equalsIgnoreCase(name)) {
-                        if (value.length() > 15) {
-                            logger.debug("  {}: Bearer {}...", name, value.substring(7, 15));
-                        } else {
-                            logger.debug("  {}: [MISSING OR MALFORMED]", name);
-                        }
-                    } else {
-                        logger.debug("  {}: {}", name, value);
-                    }
-                });
-            });
-        }
-
-        private void logDetailedResponse(Response response) {
-            logger.debug("=== RESPONSE ===");
-            logger.debug("Status: {}", response.status());
-            logger.debug("Headers: ");
+    @Bean
+    public ErrorDecoder errorDecoder(ObjectMapper objectMapper) {
+        return new LexofficeErrorDecoder(objectMapper);
+    }
 
-            response.headers().forEach((name, values) -> {
-                values.forEach(value -> logger.debug("  {}: {}", name, value));
-            });
-        }
+    /**
+     * Authorizes every call with the Lexoffice token of the tenant the request is made for.
+     */
+    @Bean
+    public RequestInterceptor authorizationInterceptor(LexofficeTenantRegistry lexofficeTenantRegistry) {
+        return template -> template.header("Authorization", "Bearer " + lexofficeTenantRegistry.currentToken());
     }
-}
\ No newline at end of file
+}
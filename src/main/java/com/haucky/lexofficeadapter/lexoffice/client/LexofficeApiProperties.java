@@ -0,0 +1,220 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tuning knobs for the outbound connection to the Lexoffice API, bound to {@code lexoffice.api.*}.
+ * Defaults are sized for a single adapter instance talking to one upstream host.
+ */
+@Data
+@ConfigurationProperties(prefix = "lexoffice.api")
+public class LexofficeApiProperties {
+
+    private final Http http = new Http();
+    private final RateLimit rateLimit = new RateLimit();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Retry retry = new Retry();
+    private final Hedging hedging = new Hedging();
+    private final Bulkhead bulkhead = new Bulkhead();
+    private final Audit audit = new Audit();
+    private final Warmup warmup = new Warmup();
+    private final Coalescing coalescing = new Coalescing();
+    private final ContactCache contactCache = new ContactCache();
+    private final PageCache pageCache = new PageCache();
+    private final Replica replica = new Replica();
+    // Additional Lexoffice organisations served by this instance, keyed by the tenant claim of the JWT
+    private final Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    @Data
+    public static class Http {
+        // Connection pool shared by every call to the upstream host
+        private int maxIdleConnections = 20;
+        private Duration keepAlive = Duration.ofMinutes(5);
+
+        // Only relevant for asynchronous calls, synchronous calls are bounded by the caller threads
+        private int maxRequests = 64;
+        private int maxRequestsPerHost = 32;
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration readTimeout = Duration.ofSeconds(30);
+
+        // HTTP/2 is negotiated via ALPN, plain HTTP (e.g. WireMock) falls back to HTTP/1.1
+        private boolean http2Enabled = true;
+        private Duration pingInterval = Duration.ofSeconds(30);
+
+        private int tlsSessionCacheSize = 64;
+        private Duration tlsSessionTimeout = Duration.ofHours(4);
+
+        // Upper bound for a decoded response body, a full page of 250 contacts is well below 1MB
+        private DataSize maxResponseSize = DataSize.ofMegabytes(8);
+
+        // Resolved addresses of the upstream host are reused for this long, independent of the JVM DNS cache
+        private Duration dnsTtl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        // Lexoffice allows 2 requests per second per access token
+        private double permitsPerSecond = 2.0;
+        private int burst = 2;
+        // Callers queue for a permit up to this long before they are rejected with 429
+        private Duration maxWait = Duration.ofSeconds(3);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        // Outcomes of the last n calls per operation are evaluated, but not before the minimum was recorded
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private float failureRateThreshold = 50;
+        // Calls slower than the duration threshold count as slow, even if they succeed
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+        private float slowCallRateThreshold = 80;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Data
+    public static class Retry {
+        private boolean enabled = true;
+        // Including the initial attempt
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        // Upper bound of the time a single request may spend waiting between attempts (including Retry-After)
+        private Duration maxTotalBackoff = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Hedging {
+        // Opt-in, only used for fetching a single contact
+        private boolean enabled = false;
+        // A hedge is sent once the first attempt is slower than this percentile of recent attempts
+        private double percentile = 0.95;
+        private int minSamples = 20;
+        private Duration initialDelay = Duration.ofMillis(500);
+        private Duration minDelay = Duration.ofMillis(50);
+        private Duration maxDelay = Duration.ofSeconds(2);
+        // At most this share of calls is hedged, with up to max-hedge-burst hedges saved up
+        private double maxHedgeRatio = 0.1;
+        private int maxHedgeBurst = 5;
+    }
+
+    @Data
+    public static class Coalescing {
+        // Concurrent identical reads (single contact, list query) share one upstream call
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class ContactCache {
+        private boolean enabled = true;
+        // Bounded by entry count, or by estimated size (serialised JSON) if max-size is set
+        private long maxEntries = 10_000;
+        private DataSize maxSize;
+        private Duration ttl = Duration.ofMinutes(5);
+        // Entries read after this are reloaded in the background while the cached contact is still served
+        private Duration refreshAfter = Duration.ofMinutes(1);
+        // Fetch created contacts in the background, clients usually read them right after creating them
+        private boolean writeThrough = true;
+    }
+
+    @Data
+    public static class PageCache {
+        private boolean enabled = true;
+        // Short on purpose, changes made directly in Lexoffice are only seen after it expired
+        private Duration ttl = Duration.ofSeconds(15);
+        // Budget for the estimated size of all cached pages, about 1 KB per contact on a page
+        private DataSize maxSize = DataSize.ofMegabytes(16);
+    }
+
+    @Data
+    public static class Replica {
+        // Serve reads from an in-memory copy of all contacts, synced in the background
+        private boolean enabled = false;
+        // A tenant is synced once its last completed sync (or the restored snapshot) is this old
+        private Duration syncInterval = Duration.ofHours(1);
+        // How often tenants are checked for a due sync
+        private Duration syncCheckInterval = Duration.ofMinutes(1);
+        // Lexoffice's maximum page size, fewest calls per sync
+        private int pageSize = 250;
+        // Pages per second a full sync reads at most, a quarter of the default rate limit
+        private double syncPermitsPerSecond = 0.5;
+        // Permits a full sync leaves to requests, must be below the rate limit burst
+        private int syncReservedPermits = 1;
+        private Duration syncMaxBackoff = Duration.ofSeconds(8);
+        // Reads fall back to Lexoffice once the last completed sync is older than this
+        private Duration maxStaleness = Duration.ofHours(2);
+        // Completed syncs are persisted and restored on the next start, /tmp is a volume in the container image
+        private boolean persist = true;
+        private Path snapshotDirectory = Path.of(System.getProperty("java.io.tmpdir"), "lexoffice-replica");
+        private ReplicaDelta delta = new ReplicaDelta();
+    }
+
+    @Data
+    public static class ReplicaDelta {
+        // Apply contact events (Lexoffice event subscriptions) between full syncs, sync-interval can then be hours
+        private boolean enabled = false;
+        private Duration interval = Duration.ofSeconds(30);
+        // PEM encoded public key Lexoffice signs event callbacks with
+        private String publicKey;
+    }
+
+    @Data
+    public static class Bulkhead {
+        private boolean enabled = true;
+        private BulkheadPool writes = new BulkheadPool(10, 20, Duration.ofSeconds(2));
+        private BulkheadPool reads = new BulkheadPool(20, 40, Duration.ofSeconds(1));
+        private BulkheadPool lists = new BulkheadPool(10, 20, Duration.ofSeconds(2));
+        // The country list is cached, concurrent refreshes only happen on a cold cache
+        private BulkheadPool countryRefresh = new BulkheadPool(2, 20, Duration.ofSeconds(5));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkheadPool {
+        private int maxConcurrentCalls;
+        private int maxQueueLength;
+        private Duration maxWait;
+    }
+
+    @Data
+    public static class Tenant {
+        private String token;
+        // Rate limit of the tenant's token, defaults to lexoffice.api.rate-limit.*
+        private Double permitsPerSecond;
+        private Integer burst;
+    }
+
+    @Data
+    public static class Audit {
+        private boolean enabled = true;
+        // Share of successful calls that is recorded, failed calls are always recorded
+        private double sampleRate = 0.01;
+        // Calls kept in memory for the recent calls endpoint and until they are flushed, rounded up to a power of two
+        private int capacity = 1024;
+        private Duration flushInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Warmup {
+        // Runs before the application reports readiness
+        private boolean enabled = true;
+        // HTTP/1.1 connections opened up front. With HTTP/2 a single connection is opened, it multiplexes all calls
+        private int connections = 4;
+        // Upper bound for the whole warm-up, traffic is accepted afterwards even if it did not finish
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+}
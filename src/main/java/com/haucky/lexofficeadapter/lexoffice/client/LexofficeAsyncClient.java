@@ -0,0 +1,278 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haucky.lexofficeadapter.adapter.exception.UpstreamCallRejectedException;
+import com.haucky.lexofficeadapter.common.dto.requests.ContactCreate;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundCall;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactCreated;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.resilience.Bulkhead;
+import com.haucky.lexofficeadapter.lexoffice.resilience.BulkheadRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreaker;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreakerRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.TokenBucketRateLimiter;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import feign.RetryableException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.haucky.lexofficeadapter.lexoffice.LexofficeConstants.LEXOFFICE_REQUEST_ID_KEY;
+
+/**
+ * Non-blocking counterpart of {@link LexofficeFeignClient} for the contact endpoints, built on OkHttp's asynchronous
+ * calls on the shared connection pool. No thread waits while a call is in flight.
+ * <p>
+ * Errors are mapped by the same {@link LexofficeErrorDecoder} and the same per-tenant rate limiters, circuit breakers
+ * and bulkheads apply as for the Feign client. Since a caller must never block here, a saturated bulkhead rejects right
+ * away and a rate limiter wait delays the call instead of the caller. Transient errors are not retried. Calls are
+ * recorded in the {@link OutboundAuditLog} like those of the Feign client.
+ */
+@Component
+public class LexofficeAsyncClient {
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final OkHttpClient okHttpClient;
+    private final ObjectMapper objectMapper;
+    private final ContactsPageReader contactsPageReader;
+    private final LexofficeErrorDecoder errorDecoder;
+    private final LexofficeApiProperties properties;
+    private final RateLimiterRegistry rateLimiters;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final HttpUrl baseUrl;
+    private final LexofficeTenantRegistry tenantRegistry;
+    private final OutboundAuditLog auditLog;
+
+    public LexofficeAsyncClient(OkHttpClient lexofficeOkHttpClient, ObjectMapper objectMapper,
+                                ContactsPageReader contactsPageReader, LexofficeApiProperties properties, RateLimiterRegistry lexofficeRateLimiters,
+                                CircuitBreakerRegistry lexofficeCircuitBreakers, BulkheadRegistry lexofficeBulkheads,
+                                LexofficeTenantRegistry lexofficeTenantRegistry, OutboundAuditLog outboundAuditLog,
+                                @Value("${lexoffice.api.url}") String apiUrl) {
+        this.okHttpClient = lexofficeOkHttpClient;
+        this.objectMapper = objectMapper;
+        this.contactsPageReader = contactsPageReader;
+        this.errorDecoder = new LexofficeErrorDecoder(objectMapper);
+        this.properties = properties;
+        this.rateLimiters = lexofficeRateLimiters;
+        this.circuitBreakers = lexofficeCircuitBreakers;
+        this.bulkheads = lexofficeBulkheads;
+        this.baseUrl = HttpUrl.get(apiUrl);
+        this.tenantRegistry = lexofficeTenantRegistry;
+        this.auditLog = outboundAuditLog;
+    }
+
+    public CompletableFuture<ContactCreated> createContact(ContactCreate contactCreate) {
+        RequestBody body;
+        try {
+            body = RequestBody.create(objectMapper.writeValueAsBytes(contactCreate), JSON);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Request request = newRequest(baseUrl.newBuilder().addPathSegment("contacts").build())
+                .post(body)
+                .build();
+        return execute(UpstreamOperation.CREATE, "/contacts", request, ContactCreated.class);
+    }
+
+    public CompletableFuture<Contact> getContactById(UUID id) {
+        Request request = newRequest(baseUrl.newBuilder().addPathSegment("contacts").addPathSegment(id.toString()).build())
+                .get()
+                .build();
+        return execute(UpstreamOperation.GET_BY_ID, "/contacts/{id}", request, Contact.class);
+    }
+
+    public CompletableFuture<ContactsPage> getAllContactsWithFilter(Map<String, String> queryParams) {
+        HttpUrl.Builder url = baseUrl.newBuilder().addPathSegment("contacts");
+        queryParams.forEach(url::addQueryParameter);
+
+        Request request = newRequest(url.build())
+                .get()
+                .build();
+        return execute(UpstreamOperation.LIST, "/contacts", request, ContactsPage.class);
+    }
+
+    private Request.Builder newRequest(HttpUrl url) {
+        return new Request.Builder()
+                .url(url)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tenantRegistry.currentToken())
+                .header(HttpHeaders.ACCEPT, "application/json");
+    }
+
+    /**
+     * @param uriTemplate path with unresolved variables for the audit log, as the Feign client records it
+     */
+    private <T> CompletableFuture<T> execute(UpstreamOperation operation, String uriTemplate, Request request,
+                                             Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long auditStart = System.nanoTime();
+        OutboundCall.OutboundCallBuilder audit = OutboundCall.builder()
+                .timestamp(Instant.now())
+                .method(request.method())
+                .uriTemplate(uriTemplate);
+
+        CircuitBreaker circuitBreaker = properties.getCircuitBreaker().isEnabled() ? circuitBreakers.forOperation(operation) : null;
+        Bulkhead bulkhead = properties.getBulkhead().isEnabled() ? bulkheads.forOperation(operation) : null;
+        TokenBucketRateLimiter rateLimiter = properties.getRateLimit().isEnabled() ? rateLimiters.forCurrentTenant() : null;
+        long rateLimitWaitNanos;
+        try {
+            // Like the Feign client: calls to an open circuit neither wait for nor consume a rate limit permit
+            if (circuitBreaker != null) {
+                circuitBreaker.acquirePermission();
+            }
+            rateLimitWaitNanos = rateLimiter != null ? reserveRateLimit(rateLimiter, circuitBreaker) : 0;
+        } catch (UpstreamCallRejectedException e) {
+            record(audit.status(e.getStatus().value()).error(e.getTitle()), auditStart);
+            return CompletableFuture.failedFuture(e);
+        } catch (RuntimeException e) {
+            record(audit.error(e.getClass().getSimpleName() + ": " + e.getMessage()), auditStart);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Callback callback = new Callback() {
+            private final long start = System.nanoTime();
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                release(bulkhead);
+                if (circuitBreaker != null) {
+                    circuitBreaker.onFailure(System.nanoTime() - start);
+                }
+                record(audit.error(e.getClass().getSimpleName() + ": " + e.getMessage()), auditStart);
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                // Like the Feign client, the audited latency ends with the response headers
+                record(audit.status(response.code()).requestId(response.header(LEXOFFICE_REQUEST_ID_KEY)), auditStart);
+                if (circuitBreaker != null) {
+                    if (response.code() >= 500) {
+                        circuitBreaker.onFailure(System.nanoTime() - start);
+                    } else {
+                        circuitBreaker.onSuccess(System.nanoTime() - start);
+                    }
+                }
+
+                try (response) {
+                    if (response.isSuccessful()) {
+                        result.complete(decode(response.body(), responseType));
+                    } else {
+                        result.completeExceptionally(decodeError(response));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    // The slot covers the transfer of the body as well
+                    release(bulkhead);
+                }
+            }
+        };
+
+        // Rate limits are per tenant while bulkheads are shared, so the slot is only taken once the permit is due
+        Runnable enqueue = () -> {
+            if (bulkhead != null) {
+                try {
+                    bulkhead.tryAcquire();
+                } catch (UpstreamCallRejectedException e) {
+                    if (rateLimiter != null) {
+                        rateLimiter.cancel();
+                    }
+                    if (circuitBreaker != null) {
+                        circuitBreaker.releasePermission();
+                    }
+                    record(audit.status(e.getStatus().value()).error(e.getTitle()), auditStart);
+                    result.completeExceptionally(e);
+                    return;
+                }
+            }
+            okHttpClient.newCall(request).enqueue(callback);
+        };
+
+        if (rateLimitWaitNanos > 0) {
+            CompletableFuture.delayedExecutor(rateLimitWaitNanos, TimeUnit.NANOSECONDS).execute(enqueue);
+        } else {
+            enqueue.run();
+        }
+        return result;
+    }
+
+    private static long reserveRateLimit(TokenBucketRateLimiter rateLimiter, CircuitBreaker circuitBreaker) {
+        try {
+            return rateLimiter.reserve();
+        } catch (RuntimeException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.releasePermission();
+            }
+            throw e;
+        }
+    }
+
+    private void record(OutboundCall.OutboundCallBuilder call, long start) {
+        auditLog.record(call.latencyMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).build());
+    }
+
+    private static void release(Bulkhead bulkhead) {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+    }
+
+    private <T> T decode(ResponseBody body, Class<T> responseType) throws IOException {
+        if (responseType == ContactsPage.class) {
+            return responseType.cast(contactsPageReader.read(body.byteStream()));
+        }
+        return objectMapper.readValue(body.byteStream(), responseType);
+    }
+
+    private Exception decodeError(Response response) throws IOException {
+        ResponseBody body = response.body();
+        byte[] bodyBytes = body != null ? body.bytes() : null;
+
+        Map<String, Collection<String>> headers = new HashMap<>(response.headers().toMultimap());
+        feign.Request feignRequest = feign.Request.create(
+                feign.Request.HttpMethod.valueOf(response.request().method()),
+                response.request().url().toString(),
+                Map.of(), null, StandardCharsets.UTF_8, null);
+
+        feign.Response feignResponse = feign.Response.builder()
+                .status(response.code())
+                .reason(response.message())
+                .headers(headers)
+                .body(bodyBytes)
+                .request(feignRequest)
+                .build();
+
+        Exception exception = errorDecoder.decode(response.request().method() + " " + response.request().url().encodedPath(), feignResponse);
+        // Without retries, transient errors surface like any other mapped error
+        if (exception instanceof RetryableException && exception.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return exception;
+    }
+}
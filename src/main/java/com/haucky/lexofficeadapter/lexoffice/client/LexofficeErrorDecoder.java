@@ -7,18 +7,27 @@ import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
 import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException.LexofficeExceptionBuilder;
 import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeValidationException;
 import feign.Response;
+import feign.RetryableException;
 import feign.codec.ErrorDecoder;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static com.haucky.lexofficeadapter.lexoffice.LexofficeConstants.*;
 
 /**
- * Custom error decoder that maps upstream 4xx/5xx errors into LexofficeExceptions
+ * Custom error decoder that maps upstream 4xx/5xx errors into LexofficeExceptions.
+ * <p>
+ * Transient errors (429, 503) are wrapped into a RetryableException, so the LexofficeRetryer can decide whether to
+ * retry. If it does not, the wrapped LexofficeException is propagated as is.
  */
 public class LexofficeErrorDecoder implements ErrorDecoder {
     private static final org.slf4j.Logger log = LoggerFactory.getLogger(LexofficeErrorDecoder.class);
@@ -32,13 +41,33 @@ public class LexofficeErrorDecoder implements ErrorDecoder {
 
     @Override
     public Exception decode(String methodKey, Response response) {
-        HttpStatus responseStatus = HttpStatus.valueOf(response.status());
+        LexofficeException lexofficeException = decodeLexofficeException(response);
 
         // Continue to handle with default encoder
-        if (!isErrorResponse(responseStatus)) {
+        if (lexofficeException == null) {
             return defaultErrorDecoder.decode(methodKey, response);
         }
 
+        if (!isTransient(response.status())) {
+            return lexofficeException;
+        }
+
+        return new RetryableException(
+                response.status(),
+                lexofficeException.getDetail(),
+                response.request().httpMethod(),
+                lexofficeException,
+                getRetryAfter(response),
+                response.request());
+    }
+
+    private LexofficeException decodeLexofficeException(Response response) {
+        HttpStatus responseStatus = HttpStatus.valueOf(response.status());
+
+        if (!isErrorResponse(responseStatus)) {
+            return null;
+        }
+
         // TODO From what I understood from the documentation, it is not guaranteed that there is an error body (e.g. 404)
         Optional<String> responseBodyContent = getResponseBody(response);
 
@@ -149,6 +178,37 @@ public class LexofficeErrorDecoder implements ErrorDecoder {
         return status.is4xxClientError() || status.is5xxServerError();
     }
 
+    private static boolean isTransient(int status) {
+        return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    /**
+     * Parses the Retry-After header, which is either a delay in seconds or an HTTP date.
+     *
+     * @return the point in time (epoch millis) after which the request may be retried, null if absent or unparsable
+     */
+    private static Long getRetryAfter(Response response) {
+        Optional<String> retryAfter = response.headers().entrySet().stream()
+                .filter(header -> HttpHeaders.RETRY_AFTER.equalsIgnoreCase(header.getKey()))
+                .flatMap(header -> header.getValue().stream())
+                .findFirst()
+                .map(String::trim);
+
+        if (retryAfter.isEmpty()) {
+            return null;
+        }
+
+        try {
+            if (retryAfter.get().matches("^[0-9]+$")) {
+                return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.get()));
+            }
+            return ZonedDateTime.parse(retryAfter.get(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            log.warn("Ignoring unparsable Retry-After header: {}", retryAfter.get());
+            return null;
+        }
+    }
+
 
     private static String getRequestId(Response response) {
         // TODO I could not find any not-vendor specific request id here
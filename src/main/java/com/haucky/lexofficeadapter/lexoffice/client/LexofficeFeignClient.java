@@ -5,6 +5,7 @@ import com.haucky.lexofficeadapter.common.dto.Country;
 import com.haucky.lexofficeadapter.common.dto.requests.ContactCreate;
 import com.haucky.lexofficeadapter.lexoffice.dto.ContactCreated;
 import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.cloud.openfeign.SpringQueryMap;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +30,13 @@ public interface LexofficeFeignClient {
     @GetMapping(value = "/contacts", produces = "application/json")
     ContactsPage getAllContactsWithFilter(@SpringQueryMap Map<String, String> queryParams);
 
+    /**
+     * Same call as {@link #getAllContactsWithFilter(Map)}, but hands out the undecoded response so the body can be
+     * read as a stream. Error responses are not decoded either, the caller has to check the status.
+     */
+    @GetMapping(value = "/contacts", produces = "application/json")
+    Response streamAllContactsWithFilter(@SpringQueryMap Map<String, String> queryParams);
+
     @GetMapping(value = "/countries", produces = "application/json")
     ResponseEntity<List<Country>> getCountries();
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamAttempt;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.brotli.BrotliInterceptor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared OkHttp transport for all calls to the Lexoffice API.
+ * <p>
+ * Kept separate from {@link FeignClientConfig} on purpose: the Feign configuration is instantiated again inside the
+ * Feign child context, whereas the connection pool must exist exactly once per application.
+ */
+@Configuration
+@EnableConfigurationProperties(LexofficeApiProperties.class)
+public class LexofficeHttpClientConfig {
+
+    @Bean
+    public ConnectionPool lexofficeConnectionPool(LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        LexofficeApiProperties.Http http = properties.getHttp();
+        ConnectionPool pool = new ConnectionPool(http.getMaxIdleConnections(), http.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("lexoffice.http.pool.connections", pool, p -> p.connectionCount() - p.idleConnectionCount())
+                .description("Pooled connections to the Lexoffice API currently in use")
+                .tag("state", "active")
+                .register(meterRegistry);
+        Gauge.builder("lexoffice.http.pool.connections", pool, ConnectionPool::idleConnectionCount)
+                .description("Pooled connections to the Lexoffice API currently idle")
+                .tag("state", "idle")
+                .register(meterRegistry);
+        Gauge.builder("lexoffice.http.pool.max.idle", http, LexofficeApiProperties.Http::getMaxIdleConnections)
+                .description("Maximum number of idle connections kept in the pool")
+                .register(meterRegistry);
+
+        return pool;
+    }
+
+    @Bean
+    public CachingDns lexofficeDns(LexofficeApiProperties properties) {
+        return new CachingDns(Dns.SYSTEM, properties.getHttp().getDnsTtl());
+    }
+
+    @Bean
+    public OkHttpClient lexofficeOkHttpClient(LexofficeApiProperties properties, ConnectionPool lexofficeConnectionPool,
+                                              CachingDns lexofficeDns, MeterRegistry meterRegistry, Environment environment) {
+        LexofficeApiProperties.Http http = properties.getHttp();
+
+        // Asynchronous calls are executed by the dispatcher, with spring.threads.virtual.enabled on virtual threads
+        Dispatcher dispatcher = Threading.VIRTUAL.isActive(environment)
+                ? new Dispatcher(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lexoffice-okhttp-", 0).factory()))
+                : new Dispatcher();
+        dispatcher.setMaxRequests(http.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(http.getMaxRequestsPerHost());
+
+        List<Protocol> protocols = http.isHttp2Enabled()
+                ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : List.of(Protocol.HTTP_1_1);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(lexofficeConnectionPool)
+                .dns(lexofficeDns)
+                .dispatcher(dispatcher)
+                .protocols(protocols)
+                .connectTimeout(http.getConnectTimeout())
+                .readTimeout(http.getReadTimeout())
+                .pingInterval(http.getPingInterval())
+                .retryOnConnectionFailure(true)
+                .eventListenerFactory(ConnectionMetricsEventListener.factory(meterRegistry))
+                // Lets a hedged request cancel its slower attempt
+                .addInterceptor(UpstreamAttempt.interceptor())
+                // Offers br and gzip and decompresses the body while it is read, OkHttp alone would only offer gzip
+                .addInterceptor(PayloadMetricsInterceptor.content(meterRegistry))
+                .addInterceptor(BrotliInterceptor.INSTANCE)
+                .addNetworkInterceptor(PayloadMetricsInterceptor.wire(meterRegistry));
+
+        configureTlsSessionCache(builder, http);
+
+        return builder.build();
+    }
+
+    /**
+     * Uses a dedicated SSL context so the client session cache (and with it TLS session resumption) can be sized
+     * without touching the JVM-wide default context.
+     */
+    private static void configureTlsSessionCache(OkHttpClient.Builder builder, LexofficeApiProperties.Http http) {
+        try {
+            TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init((KeyStore) null);
+            X509TrustManager trustManager = Arrays.stream(trustManagerFactory.getTrustManagers())
+                    .filter(X509TrustManager.class::isInstance)
+                    .map(X509TrustManager.class::cast)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No X509TrustManager available"));
+
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{trustManager}, null);
+
+            SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+            sessionContext.setSessionCacheSize(http.getTlsSessionCacheSize());
+            sessionContext.setSessionTimeout((int) http.getTlsSessionTimeout().toSeconds());
+
+            builder.sslSocketFactory(sslContext.getSocketFactory(), trustManager);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialise TLS context for the Lexoffice client", e);
+        }
+    }
+}
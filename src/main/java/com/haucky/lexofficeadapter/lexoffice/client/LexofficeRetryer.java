@@ -0,0 +1,118 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries transient upstream errors with exponential backoff and full jitter.
+ * <p>
+ * Idempotent calls (GET) are retried on connection errors, timeouts, 429 and 503. Creating a contact is not idempotent
+ * and the Lexoffice API offers no idempotency key, so a create is only retried on 429, where the upstream guarantees
+ * that the request was not processed.
+ * <p>
+ * A Retry-After header sent by the upstream replaces the computed backoff. Every request has a budget of attempts and
+ * total backoff time; once the next wait would exceed it, the original error is propagated right away.
+ * Feign clones the retryer for every request, so the budget is tracked per request.
+ * <p>
+ * If retries are disabled, errors are still unwrapped, since Feign's own retryers would surface the wrapper.
+ */
+public class LexofficeRetryer implements Retryer {
+    private static final Logger log = LoggerFactory.getLogger(LexofficeRetryer.class);
+
+    private final LexofficeApiProperties.Retry settings;
+    private final MeterRegistry meterRegistry;
+
+    private int attempt = 1;
+    private long backoffSpentMillis;
+
+    public LexofficeRetryer(LexofficeApiProperties.Retry settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        String operation = e.request() != null ? UpstreamOperation.of(e.request()).getTagValue() : "unknown";
+
+        if (!settings.isEnabled() || !isRetryable(e)) {
+            throw propagate(e);
+        }
+
+        long backoffMillis = nextBackoffMillis(e);
+        if (attempt >= settings.getMaxAttempts()
+                || backoffSpentMillis + backoffMillis > settings.getMaxTotalBackoff().toMillis()) {
+            countRetry(operation, "exhausted");
+            log.warn("Giving up on Lexoffice operation '{}' after {} attempts (status {})", operation, attempt, e.status());
+            throw propagate(e);
+        }
+
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw propagate(e);
+        }
+
+        attempt++;
+        backoffSpentMillis += backoffMillis;
+        countRetry(operation, "retried");
+        Timer.builder("lexoffice.retry.backoff")
+                .description("Time spent waiting between attempts of an upstream call")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(backoffMillis, TimeUnit.MILLISECONDS);
+        log.debug("Retrying Lexoffice operation '{}' after {} ms (attempt {})", operation, backoffMillis, attempt);
+    }
+
+    @Override
+    public Retryer clone() {
+        return new LexofficeRetryer(settings, meterRegistry);
+    }
+
+    private static boolean isRetryable(RetryableException e) {
+        if (e.status() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return true;
+        }
+        return e.method() != Request.HttpMethod.POST && e.method() != Request.HttpMethod.PATCH;
+    }
+
+    private long nextBackoffMillis(RetryableException e) {
+        if (e.retryAfter() != null) {
+            return Math.max(0, e.retryAfter() - System.currentTimeMillis());
+        }
+
+        // Full jitter: a random wait between zero and the exponential backoff spreads out retries of concurrent callers
+        long exponentialBackoff = settings.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20);
+        long cappedBackoff = Math.min(exponentialBackoff, settings.getMaxBackoff().toMillis());
+        return ThreadLocalRandom.current().nextLong(cappedBackoff + 1);
+    }
+
+    private static RuntimeException propagate(RetryableException e) {
+        // Surface the mapped Lexoffice error instead of Feign's wrapper, so the Problem JSON stays the same
+        if (e.getCause() instanceof LexofficeException lexofficeException) {
+            return lexofficeException;
+        }
+        return e;
+    }
+
+    private void countRetry(String operation, String outcome) {
+        Counter.builder("lexoffice.retry.attempts")
+                .description("Retries of upstream calls and requests that ran out of retry budget")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,77 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+
+/**
+ * Counts the response body bytes of calls to the Lexoffice API while they are read.
+ * <p>
+ * Registered twice: as network interceptor it sees the body as transferred ({@code stage=wire}, compressed if Lexoffice
+ * compressed it), as outermost application interceptor it sees the body after transparent decompression
+ * ({@code stage=content}). The difference is the bandwidth saved by compression.
+ */
+public class PayloadMetricsInterceptor implements Interceptor {
+    private final MeterRegistry meterRegistry;
+    private final String stage;
+
+    private PayloadMetricsInterceptor(MeterRegistry meterRegistry, String stage) {
+        this.meterRegistry = meterRegistry;
+        this.stage = stage;
+    }
+
+    /**
+     * For {@link okhttp3.OkHttpClient.Builder#addNetworkInterceptor(Interceptor)}.
+     */
+    public static PayloadMetricsInterceptor wire(MeterRegistry meterRegistry) {
+        return new PayloadMetricsInterceptor(meterRegistry, "wire");
+    }
+
+    /**
+     * For {@link okhttp3.OkHttpClient.Builder#addInterceptor(Interceptor)}, must be added before any decompressing
+     * interceptor.
+     */
+    public static PayloadMetricsInterceptor content(MeterRegistry meterRegistry) {
+        return new PayloadMetricsInterceptor(meterRegistry, "content");
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+
+        UpstreamOperation operation = UpstreamOperation.of(response.request().method(), response.request().url().toString());
+        Counter counter = Counter.builder("lexoffice.http.response.bytes")
+                .description("Response body bytes received from the Lexoffice API")
+                .baseUnit("bytes")
+                .tag("operation", operation.getTagValue())
+                .tag("stage", stage)
+                .register(meterRegistry);
+
+        ForwardingSource countingSource = new ForwardingSource(body.source()) {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                if (read > 0) {
+                    counter.increment(read);
+                }
+                return read;
+            }
+        };
+
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(countingSource), body.contentType(), body.contentLength()))
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Takes a permit of the current tenant's rate limiter before every physical call, so retried requests are accounted
+ * for as well.
+ */
+class RateLimitingClient implements Client {
+    private final Client delegate;
+    private final RateLimiterRegistry rateLimiters;
+
+    RateLimitingClient(Client delegate, RateLimiterRegistry rateLimiters) {
+        this.delegate = delegate;
+        this.rateLimiters = rateLimiters;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        rateLimiters.forCurrentTenant().acquire();
+        return delegate.execute(request, options);
+    }
+}
@@ -0,0 +1,50 @@
+package com.haucky.lexofficeadapter.lexoffice.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+
+/**
+ * Innermost stage, measures the physical call alone (until the response headers arrived). Outer stages that judge
+ * the upstream by its latency read the duration from here, so time spent waiting for a rate limit permit or a
+ * bulkhead slot is not mistaken for a slow upstream.
+ */
+public class TransportTimingClient implements Client {
+    // Feign stages run on the calling thread, the duration is handed outwards on it
+    private static final ThreadLocal<Long> LAST_CALL_NANOS = new ThreadLocal<>();
+
+    private final Client delegate;
+
+    TransportTimingClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.execute(request, options);
+        } finally {
+            LAST_CALL_NANOS.set(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Forgets the duration of the previous call of the current thread, to be called before a new call is made.
+     */
+    public static void reset() {
+        LAST_CALL_NANOS.remove();
+    }
+
+    /**
+     * @return duration of the last physical call made on the current thread since {@link #reset()}, empty if none
+     * reached the transport
+     */
+    public static OptionalLong lastCallNanos() {
+        Long nanos = LAST_CALL_NANOS.get();
+        return nanos != null ? OptionalLong.of(nanos) : OptionalLong.empty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.haucky.lexofficeadapter.lexoffice.dto;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -22,4 +23,6 @@ public class Contact {
     private EmailAddresses emailAddresses;
     private PhoneNumbers phoneNumbers;
     private String note;
+    private ZonedDateTime createdDate;
+    private ZonedDateTime updatedDate;
 }
\ No newline at end of file
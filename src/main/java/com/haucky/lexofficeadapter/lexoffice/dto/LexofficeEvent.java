@@ -0,0 +1,19 @@
+package com.haucky.lexofficeadapter.lexoffice.dto;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Callback payload of a Lexoffice event subscription, e.g. {@code contact.changed}.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LexofficeEvent {
+    private UUID organizationId;
+    private String eventType;
+    private UUID resourceId;
+    private ZonedDateTime eventDate;
+}
@@ -0,0 +1,47 @@
+package com.haucky.lexofficeadapter.lexoffice.events;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Verifies the {@code X-Lxo-Signature} of event callbacks: a base64 encoded SHA512withRSA signature of the raw request
+ * body, made with Lexoffice's private key.
+ */
+public class LexofficeEventVerifier {
+    public static final String SIGNATURE_HEADER = "X-Lxo-Signature";
+
+    private final PublicKey publicKey;
+
+    /**
+     * @param publicKeyPem Lexoffice's public key, PEM encoded
+     */
+    public LexofficeEventVerifier(String publicKeyPem) {
+        String encoded = publicKeyPem
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+        try {
+            this.publicKey = KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Lexoffice event public key is not a valid RSA public key", e);
+        }
+    }
+
+    public boolean isSigned(byte[] body, String signature) {
+        if (body == null || signature == null || signature.isBlank()) {
+            return false;
+        }
+        try {
+            Signature verifier = Signature.getInstance("SHA512withRSA");
+            verifier.initVerify(publicKey);
+            verifier.update(body);
+            return verifier.verify(Base64.getDecoder().decode(signature.trim()));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.adapter.exception.BulkheadFullException;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of concurrent upstream calls of one call class.
+ * <p>
+ * Callers beyond {@code maxConcurrentCalls} wait in a fair queue of at most {@code maxQueueLength} for up to
+ * {@code maxWait}. Callers that do not fit into the queue or time out are rejected, so a saturated call class fails
+ * fast instead of tying up threads that other call classes need.
+ */
+public class Bulkhead {
+    private final CallClass callClass;
+    private final int maxConcurrentCalls;
+    private final int maxQueueLength;
+    private final long maxWaitNanos;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter rejectedCounter;
+    private final Timer waitTimer;
+
+    public Bulkhead(CallClass callClass, LexofficeApiProperties.BulkheadPool settings, MeterRegistry meterRegistry) {
+        this.callClass = callClass;
+        this.maxConcurrentCalls = settings.getMaxConcurrentCalls();
+        this.maxQueueLength = settings.getMaxQueueLength();
+        this.maxWaitNanos = settings.getMaxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+
+        Gauge.builder("lexoffice.bulkhead.calls", this, Bulkhead::inFlightCalls)
+                .description("Calls currently in flight")
+                .tag("class", callClass.getTagValue())
+                .register(meterRegistry);
+        Gauge.builder("lexoffice.bulkhead.queued", queued, AtomicInteger::get)
+                .description("Calls currently waiting for a free slot")
+                .tag("class", callClass.getTagValue())
+                .register(meterRegistry);
+        Gauge.builder("lexoffice.bulkhead.max.calls", this, bulkhead -> bulkhead.maxConcurrentCalls)
+                .description("Maximum number of concurrent calls")
+                .tag("class", callClass.getTagValue())
+                .register(meterRegistry);
+        Gauge.builder("lexoffice.bulkhead.utilization", this, bulkhead -> (double) bulkhead.inFlightCalls() / bulkhead.maxConcurrentCalls)
+                .description("Share of concurrent call slots in use")
+                .tag("class", callClass.getTagValue())
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("lexoffice.bulkhead.rejected")
+                .description("Calls rejected because the bulkhead was saturated")
+                .tag("class", callClass.getTagValue())
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("lexoffice.bulkhead.wait")
+                .description("Time calls spent waiting for a free slot")
+                .tag("class", callClass.getTagValue())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, every successful call must be followed by {@link #release()}.
+     *
+     * @throws BulkheadFullException if no slot became available in time
+     */
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        if (queued.incrementAndGet() > maxQueueLength) {
+            queued.decrementAndGet();
+            throw reject();
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        if (!acquired) {
+            throw reject();
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Takes a slot without waiting, for callers that must not block (e.g. asynchronous calls).
+     *
+     * @throws BulkheadFullException if all slots are in use
+     */
+    public void tryAcquire() {
+        if (!permits.tryAcquire()) {
+            throw reject();
+        }
+        waitTimer.record(0, TimeUnit.NANOSECONDS);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int inFlightCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    private BulkheadFullException reject() {
+        rejectedCounter.increment();
+        return new BulkheadFullException(callClass.getTagValue(), Duration.ofSeconds(1));
+    }
+}
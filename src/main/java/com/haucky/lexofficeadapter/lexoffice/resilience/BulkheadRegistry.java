@@ -0,0 +1,25 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One bulkhead per call class, so e.g. a slow country refresh cannot starve single contact reads.
+ */
+public class BulkheadRegistry {
+    private final Map<CallClass, Bulkhead> bulkheads = new EnumMap<>(CallClass.class);
+
+    public BulkheadRegistry(LexofficeApiProperties.Bulkhead settings, MeterRegistry meterRegistry) {
+        bulkheads.put(CallClass.WRITES, new Bulkhead(CallClass.WRITES, settings.getWrites(), meterRegistry));
+        bulkheads.put(CallClass.READS, new Bulkhead(CallClass.READS, settings.getReads(), meterRegistry));
+        bulkheads.put(CallClass.LISTS, new Bulkhead(CallClass.LISTS, settings.getLists(), meterRegistry));
+        bulkheads.put(CallClass.COUNTRY_REFRESH, new Bulkhead(CallClass.COUNTRY_REFRESH, settings.getCountryRefresh(), meterRegistry));
+    }
+
+    public Bulkhead forOperation(UpstreamOperation operation) {
+        return bulkheads.get(CallClass.of(operation));
+    }
+}
@@ -0,0 +1,29 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import lombok.Getter;
+
+/**
+ * Classes of upstream calls that are isolated from each other by their own bulkhead.
+ */
+@Getter
+public enum CallClass {
+    WRITES("writes"),
+    READS("reads"),
+    LISTS("lists"),
+    COUNTRY_REFRESH("country-refresh");
+
+    private final String tagValue;
+
+    CallClass(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public static CallClass of(UpstreamOperation operation) {
+        return switch (operation) {
+            case CREATE -> WRITES;
+            case GET_BY_ID -> READS;
+            case LIST -> LISTS;
+            case COUNTRIES -> COUNTRY_REFRESH;
+        };
+    }
+}
@@ -0,0 +1,221 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.adapter.exception.CircuitBreakerOpenException;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for a single upstream operation.
+ * <p>
+ * The outcomes of the last {@code slidingWindowSize} calls are kept in a ring buffer. Once at least
+ * {@code minimumNumberOfCalls} were recorded and either the failure rate or the slow call rate reaches its threshold,
+ * the breaker opens and rejects calls for {@code waitDurationInOpenState}. Afterwards a limited number of probe calls
+ * is let through (half-open); their outcome decides whether the breaker closes again or stays open for another round.
+ */
+public class CircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+    private static final byte SLOW_FAILURE = FAILURE | SLOW;
+
+    private final UpstreamOperation operation;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpen;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermitsIssued;
+
+    private final MeterRegistry meterRegistry;
+
+    public CircuitBreaker(UpstreamOperation operation, LexofficeApiProperties.CircuitBreaker settings,
+                          MeterRegistry meterRegistry) {
+        this(operation, settings, meterRegistry, System::nanoTime);
+    }
+
+    public CircuitBreaker(UpstreamOperation operation, LexofficeApiProperties.CircuitBreaker settings,
+                          MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.operation = operation;
+        this.window = new byte[settings.getSlidingWindowSize()];
+        this.minimumNumberOfCalls = Math.min(settings.getMinimumNumberOfCalls(), settings.getSlidingWindowSize());
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+        this.slowCallDurationNanos = settings.getSlowCallDurationThreshold().toNanos();
+        this.waitInOpenNanos = settings.getWaitDurationInOpenState().toNanos();
+        this.permittedCallsInHalfOpen = settings.getPermittedCallsInHalfOpenState();
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("lexoffice.circuitbreaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state (0 = closed, 1 = open, 2 = half-open)")
+                .tag("operation", operation.getTagValue())
+                .register(meterRegistry);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Must be called before every upstream call. Each granted permission has to be completed with exactly one of
+     * {@link #onSuccess(long)}, {@link #onFailure(long)} or {@link #releasePermission()}.
+     *
+     * @throws CircuitBreakerOpenException if the call must not be sent upstream
+     */
+    public void acquirePermission() {
+        Duration retryAfter = null;
+
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                long remainingNanos = openedAtNanos + waitInOpenNanos - nanoClock.getAsLong();
+                if (remainingNanos > 0) {
+                    retryAfter = Duration.ofNanos(remainingNanos);
+                } else {
+                    transitionTo(State.HALF_OPEN);
+                }
+            }
+            if (retryAfter == null && state == State.HALF_OPEN) {
+                if (halfOpenPermitsIssued < permittedCallsInHalfOpen) {
+                    halfOpenPermitsIssued++;
+                } else {
+                    // Probes are still in flight, their outcome is expected shortly
+                    retryAfter = Duration.ofSeconds(1);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (retryAfter != null) {
+            countCall("rejected");
+            throw new CircuitBreakerOpenException(operation.getTagValue(), retryAfter);
+        }
+    }
+
+    /**
+     * Returns a permission without recording an outcome, e.g. if the call was never sent upstream.
+     */
+    public void releasePermission() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermitsIssued > 0) {
+                halfOpenPermitsIssued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallDurationNanos ? SLOW : SUCCESS);
+    }
+
+    public void onFailure(long durationNanos) {
+        record(durationNanos >= slowCallDurationNanos ? SLOW_FAILURE : FAILURE);
+    }
+
+    private void record(byte outcome) {
+        countCall(outcome == SUCCESS ? "success" : (outcome & FAILURE) != 0 ? "failure" : "slow");
+
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                // Late result of a call that started before the breaker opened
+                return;
+            }
+
+            if (recordedCalls == window.length) {
+                byte evicted = window[windowIndex];
+                failedCalls -= evicted & FAILURE;
+                slowCalls -= (evicted & SLOW) >> 1;
+            } else {
+                recordedCalls++;
+            }
+            window[windowIndex] = outcome;
+            windowIndex = (windowIndex + 1) % window.length;
+            failedCalls += outcome & FAILURE;
+            slowCalls += (outcome & SLOW) >> 1;
+
+            if (state == State.HALF_OPEN) {
+                if (recordedCalls >= permittedCallsInHalfOpen) {
+                    transitionTo(thresholdsExceeded() ? State.OPEN : State.CLOSED);
+                }
+            } else if (recordedCalls >= minimumNumberOfCalls && thresholdsExceeded()) {
+                transitionTo(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean thresholdsExceeded() {
+        float failureRate = failedCalls * 100f / recordedCalls;
+        float slowCallRate = slowCalls * 100f / recordedCalls;
+        return failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold;
+    }
+
+    // Callers must hold the lock
+    private void transitionTo(State newState) {
+        State previousState = state;
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+            log.warn("Circuit breaker for Lexoffice operation '{}' opened after {}/{} failed and {}/{} slow calls",
+                    operation.getTagValue(), failedCalls, recordedCalls, slowCalls, recordedCalls);
+        } else {
+            log.info("Circuit breaker for Lexoffice operation '{}' changed from {} to {}",
+                    operation.getTagValue(), previousState, newState);
+        }
+
+        // Every state starts with a fresh window, half-open only judges its own probes
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        windowIndex = 0;
+        halfOpenPermitsIssued = 0;
+        state = newState;
+
+        Counter.builder("lexoffice.circuitbreaker.transitions")
+                .description("Circuit breaker state transitions")
+                .tag("operation", operation.getTagValue())
+                .tag("from", previousState.name().toLowerCase())
+                .tag("to", newState.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void countCall(String outcome) {
+        Counter.builder("lexoffice.circuitbreaker.calls")
+                .description("Calls seen by the circuit breaker by outcome")
+                .tag("operation", operation.getTagValue())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,24 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One circuit breaker per upstream operation, so e.g. a failing country endpoint does not short-circuit contact reads.
+ */
+public class CircuitBreakerRegistry {
+    private final Map<UpstreamOperation, CircuitBreaker> circuitBreakers = new EnumMap<>(UpstreamOperation.class);
+
+    public CircuitBreakerRegistry(LexofficeApiProperties.CircuitBreaker settings, MeterRegistry meterRegistry) {
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            circuitBreakers.put(operation, new CircuitBreaker(operation, settings, meterRegistry));
+        }
+    }
+
+    public CircuitBreaker forOperation(UpstreamOperation operation) {
+        return circuitBreakers.get(operation);
+    }
+}
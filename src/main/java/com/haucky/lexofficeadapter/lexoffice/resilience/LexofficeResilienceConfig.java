@@ -0,0 +1,56 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stateful resilience components protecting the Lexoffice API. Like the connection pool, these must only exist once
+ * per application and are therefore not part of the Feign client configuration.
+ */
+@Configuration
+public class LexofficeResilienceConfig {
+
+    @Bean
+    public RateLimiterRegistry lexofficeRateLimiters(LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimiterRegistry(properties, meterRegistry);
+    }
+
+    @Bean
+    public CircuitBreakerRegistry lexofficeCircuitBreakers(LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        return new CircuitBreakerRegistry(properties.getCircuitBreaker(), meterRegistry);
+    }
+
+    @Bean
+    public BulkheadRegistry lexofficeBulkheads(LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        return new BulkheadRegistry(properties.getBulkhead(), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService lexofficeHedgingExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lexoffice-hedge-", 0).factory());
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "lexoffice-hedge-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public RequestHedger lexofficeGetByIdHedger(LexofficeApiProperties properties, RateLimiterRegistry lexofficeRateLimiters,
+                                                ExecutorService lexofficeHedgingExecutor, MeterRegistry meterRegistry) {
+        return new RequestHedger(UpstreamOperation.GET_BY_ID, properties.getHedging(), lexofficeRateLimiters,
+                lexofficeHedgingExecutor, meterRegistry);
+    }
+}
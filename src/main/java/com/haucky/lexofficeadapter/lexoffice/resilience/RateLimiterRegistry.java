@@ -0,0 +1,43 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One rate limiter per tenant. Lexoffice limits requests per API token, so every tenant has a budget of its own and a
+ * busy tenant cannot use up the budget of the others.
+ */
+public class RateLimiterRegistry {
+    private final LexofficeApiProperties.RateLimit defaults;
+    private final Map<String, LexofficeApiProperties.Tenant> tenants;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucketRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    public RateLimiterRegistry(LexofficeApiProperties properties, MeterRegistry meterRegistry) {
+        this.defaults = properties.getRateLimit();
+        this.tenants = properties.getTenants();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public TokenBucketRateLimiter forTenant(String tenant) {
+        return rateLimiters.computeIfAbsent(tenant, this::create);
+    }
+
+    public TokenBucketRateLimiter forCurrentTenant() {
+        return forTenant(TenantContext.currentTenant());
+    }
+
+    private TokenBucketRateLimiter create(String tenant) {
+        LexofficeApiProperties.Tenant settings = tenants.get(tenant);
+        double permitsPerSecond = settings != null && settings.getPermitsPerSecond() != null
+                ? settings.getPermitsPerSecond() : defaults.getPermitsPerSecond();
+        int burst = settings != null && settings.getBurst() != null ? settings.getBurst() : defaults.getBurst();
+
+        return new TokenBucketRateLimiter(permitsPerSecond, burst, defaults.getMaxWait(), meterRegistry, Tags.of("tenant", tenant));
+    }
+}
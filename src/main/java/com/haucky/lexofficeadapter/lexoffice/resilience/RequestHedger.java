@@ -0,0 +1,202 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.TransportTimingClient;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical request if the first one has not answered within the configured latency percentile of
+ * recent calls, and returns whichever answers first. The slower attempt is cancelled through its OkHttp call (see
+ * {@link UpstreamAttempt}), which aborts a blocking read at once, and interrupted, which ends a wait for a rate limit
+ * permit or bulkhead slot. Cancelled attempts count neither towards the circuit breaker nor towards the latency the
+ * hedge delay is derived from, which is the duration of the physical call only.
+ * <p>
+ * Hedging is only safe for idempotent calls. To keep it from eating the upstream rate limit, every call earns a
+ * fraction ({@code maxHedgeRatio}) of a hedge credit and every hedge spends a whole one. Additionally, no hedge is
+ * sent while the rate limiter has no permit to spare.
+ */
+public class RequestHedger {
+    private static final Logger log = LoggerFactory.getLogger(RequestHedger.class);
+
+    // Fixed point representation of hedge credits, a hedge costs one credit
+    private static final long CREDIT = 1000;
+
+    private final LexofficeApiProperties.Hedging settings;
+    private final RateLimiterRegistry rateLimiters;
+    private final ExecutorService executor;
+
+    private final AtomicLong hedgeCredits = new AtomicLong();
+    private final long creditPerCall;
+    private final long maxCredits;
+
+    private final Timer latencyTimer;
+    private final Counter firedCounter;
+    private final Counter wonCounter;
+    private final Counter skippedCounter;
+
+    public RequestHedger(UpstreamOperation operation, LexofficeApiProperties.Hedging settings, RateLimiterRegistry rateLimiters,
+                         ExecutorService executor, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.rateLimiters = rateLimiters;
+        this.executor = executor;
+        this.creditPerCall = Math.round(settings.getMaxHedgeRatio() * CREDIT);
+        this.maxCredits = settings.getMaxHedgeBurst() * CREDIT;
+
+        this.latencyTimer = Timer.builder("lexoffice.hedge.latency")
+                .description("Latency of the physical call of single attempts, used to derive the hedge delay")
+                .tag("operation", operation.getTagValue())
+                .publishPercentiles(settings.getPercentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.firedCounter = hedgeCounter(meterRegistry, operation, "fired");
+        this.wonCounter = hedgeCounter(meterRegistry, operation, "won");
+        this.skippedCounter = hedgeCounter(meterRegistry, operation, "skipped");
+    }
+
+    public <T> T call(Supplier<T> call) {
+        earnCredit();
+        // Attempts run on executor threads, but must be made for the tenant of the caller
+        Supplier<T> attempt = TenantContext.propagate(call);
+
+        CompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+        UpstreamAttempt primaryAttempt = new UpstreamAttempt();
+        Future<T> primary = completionService.submit(timed(primaryAttempt, attempt));
+        UpstreamAttempt hedgeAttempt = new UpstreamAttempt();
+        Future<T> hedge = null;
+
+        try {
+            Future<T> completed = completionService.poll(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+            if (completed == null) {
+                if (trySpendCredit()) {
+                    firedCounter.increment();
+                    hedge = completionService.submit(timed(hedgeAttempt, attempt));
+                } else {
+                    skippedCounter.increment();
+                }
+                completed = completionService.take();
+            }
+
+            try {
+                T result = completed.get();
+                if (completed == hedge) {
+                    wonCounter.increment();
+                }
+                return result;
+            } catch (ExecutionException e) {
+                if (hedge == null) {
+                    throw unwrap(e);
+                }
+                // One attempt failed, the other one still has a chance to succeed
+                log.debug("Hedged attempt failed, waiting for the remaining attempt: {}", e.getCause().getMessage());
+                Future<T> remaining = completionService.take();
+                try {
+                    T result = remaining.get();
+                    if (remaining == hedge) {
+                        wonCounter.increment();
+                    }
+                    return result;
+                } catch (ExecutionException remainingFailure) {
+                    // Report the error of the original request, it is the one a client without hedging would see
+                    throw unwrap(remaining == primary ? remainingFailure : e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Lexoffice API response", e);
+        } finally {
+            cancel(primary, primaryAttempt);
+            if (hedge != null) {
+                cancel(hedge, hedgeAttempt);
+            }
+        }
+    }
+
+    /**
+     * The configured percentile of recent attempt latencies, clamped to the configured bounds. Until enough calls
+     * were observed, the initial delay is used.
+     */
+    public Duration hedgeDelay() {
+        if (latencyTimer.count() < settings.getMinSamples()) {
+            return settings.getInitialDelay();
+        }
+
+        ValueAtPercentile[] percentiles = latencyTimer.takeSnapshot().percentileValues();
+        if (percentiles.length == 0 || Double.isNaN(percentiles[0].value())) {
+            return settings.getInitialDelay();
+        }
+
+        long delayNanos = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+        long minNanos = settings.getMinDelay().toNanos();
+        long maxNanos = settings.getMaxDelay().toNanos();
+        return Duration.ofNanos(Math.max(minNanos, Math.min(maxNanos, delayNanos)));
+    }
+
+    private <T> Callable<T> timed(UpstreamAttempt attempt, Supplier<T> call) {
+        return () -> attempt.run(() -> {
+            TransportTimingClient.reset();
+            T result = call.get();
+            if (!attempt.isCancelled()) {
+                TransportTimingClient.lastCallNanos().ifPresent(nanos -> latencyTimer.record(nanos, TimeUnit.NANOSECONDS));
+            }
+            return result;
+        });
+    }
+
+    private static void cancel(Future<?> future, UpstreamAttempt attempt) {
+        if (!future.isDone()) {
+            attempt.cancel();
+            future.cancel(true);
+        }
+    }
+
+    private void earnCredit() {
+        hedgeCredits.accumulateAndGet(creditPerCall, (credits, earned) -> Math.min(maxCredits, credits + earned));
+    }
+
+    private boolean trySpendCredit() {
+        if (rateLimiters.forCurrentTenant().availablePermits() < 1) {
+            return false;
+        }
+
+        long credits;
+        do {
+            credits = hedgeCredits.get();
+            if (credits < CREDIT) {
+                return false;
+            }
+        } while (!hedgeCredits.compareAndSet(credits, credits - CREDIT));
+        return true;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, UpstreamOperation operation, String result) {
+        return Counter.builder("lexoffice.hedge.requests")
+                .description("Hedged requests that were sent, answered first, or skipped because of the hedge budget")
+                .tag("operation", operation.getTagValue())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
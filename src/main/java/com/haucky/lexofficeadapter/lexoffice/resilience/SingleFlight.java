@@ -0,0 +1,113 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a call for a key is in flight, further callers with the same key do not
+ * call upstream themselves but wait for the result (or error) of the call in flight.
+ * <p>
+ * Nothing is cached, a key is forgotten as soon as its call completed. Only use it for idempotent reads, and include
+ * everything that makes two calls different (e.g. the tenant) in the key.
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+
+    public SingleFlight(UpstreamOperation operation, MeterRegistry meterRegistry) {
+        this.leaderCounter = callerCounter(meterRegistry, operation, "leader");
+        this.coalescedCounter = callerCounter(meterRegistry, operation, "coalesced");
+    }
+
+    /**
+     * Executes the call on the calling thread, unless a call for the key is already in flight.
+     */
+    public V call(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return join(existing);
+        }
+
+        leaderCounter.increment();
+        try {
+            V result = call.get();
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the asynchronous call, unless a call for the key is already in flight. Every caller gets a future of its
+     * own, so cancelling it does not affect the others.
+     */
+    public CompletableFuture<V> callAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing.copy();
+        }
+
+        leaderCounter.increment();
+        CompletableFuture<V> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+
+        upstream.whenComplete((result, error) -> {
+            inFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                flight.complete(result);
+            }
+        });
+        return flight.copy();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Waiting callers see the same exception as the caller that executed the call
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter callerCounter(MeterRegistry meterRegistry, UpstreamOperation operation, String role) {
+        return Counter.builder("lexoffice.singleflight.callers")
+                .description("Callers that executed an upstream read (leader) or shared the result of one in flight (coalesced)")
+                .tag("operation", operation.getTagValue())
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
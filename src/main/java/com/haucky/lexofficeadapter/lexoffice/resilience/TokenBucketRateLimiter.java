@@ -0,0 +1,164 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import com.haucky.lexofficeadapter.adapter.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to a burst capacity.
+ * <p>
+ * A caller that finds the bucket empty reserves the next free token (the bucket goes negative) and sleeps until it is
+ * due, so waiting callers are served in reservation order. If the reservation would be due later than the configured
+ * maximum wait, the caller is rejected right away instead of being queued. A caller interrupted while waiting hands its
+ * reservation back and counts as rejected.
+ */
+public class TokenBucketRateLimiter {
+    private final double permitsPerNano;
+    private final double capacity;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double storedPermits;
+    private long lastRefillNanos;
+
+    private final AtomicInteger waitingCallers = new AtomicInteger();
+    private final Counter acquiredCounter;
+    private final Counter rejectedCounter;
+    private final Timer waitTimer;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, Duration maxWait,
+                                  MeterRegistry meterRegistry, Iterable<Tag> tags) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limiter needs a positive rate and a burst of at least one permit");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.storedPermits = burst;
+        this.lastRefillNanos = System.nanoTime();
+
+        this.acquiredCounter = Counter.builder("lexoffice.ratelimiter.permits")
+                .description("Permits handed out or refused by the client-side rate limiter")
+                .tags(tags).tag("result", "acquired")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("lexoffice.ratelimiter.permits")
+                .description("Permits handed out or refused by the client-side rate limiter")
+                .tags(tags).tag("result", "rejected")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("lexoffice.ratelimiter.wait")
+                .description("Time callers spent waiting for a permit")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("lexoffice.ratelimiter.queue.depth", waitingCallers, AtomicInteger::get)
+                .description("Callers currently waiting for a permit")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("lexoffice.ratelimiter.available", this, TokenBucketRateLimiter::availablePermits)
+                .description("Permits currently available without waiting")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @throws RateLimitExceededException if the permit would only be available after the maximum wait
+     */
+    public void acquire() {
+        long waitNanos = reservePermit();
+
+        if (waitNanos > 0) {
+            waitingCallers.incrementAndGet();
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                returnPermit();
+                rejectedCounter.increment();
+                throw new RateLimitExceededException(Duration.ofNanos(waitNanos));
+            } finally {
+                waitingCallers.decrementAndGet();
+            }
+        }
+
+        acquiredCounter.increment();
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reserves a permit without waiting for it.
+     *
+     * @return nanoseconds until the reserved permit may be used, zero if it can be used right away
+     * @throws RateLimitExceededException if the permit would only be available after the maximum wait
+     */
+    public long reserve() {
+        long waitNanos = reservePermit();
+        acquiredCounter.increment();
+        return waitNanos;
+    }
+
+    /**
+     * Hands back a permit reserved with {@link #reserve()} that is not used, e.g. because the call was rejected by the
+     * bulkhead once the permit was due.
+     */
+    public void cancel() {
+        returnPermit();
+    }
+
+    private long reservePermit() {
+        long waitNanos;
+
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            double missingPermits = 1.0 - storedPermits;
+            waitNanos = missingPermits <= 0 ? 0 : (long) Math.ceil(missingPermits / permitsPerNano);
+
+            if (waitNanos <= maxWaitNanos) {
+                storedPermits -= 1.0;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (waitNanos > maxWaitNanos) {
+            rejectedCounter.increment();
+            throw new RateLimitExceededException(Duration.ofNanos(waitNanos));
+        }
+        return waitNanos;
+    }
+
+    // Callers queued behind the returned permit keep their reservation, the next caller gets the permit instead
+    private void returnPermit() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            storedPermits = Math.min(capacity, storedPermits + 1.0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double availablePermits() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return Math.max(0, storedPermits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long nowNanos) {
+        storedPermits = Math.min(capacity, storedPermits + (nowNanos - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = nowNanos;
+    }
+}
@@ -0,0 +1,77 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+
+import java.util.function.Supplier;
+
+/**
+ * Handle to one attempt at an upstream call, e.g. one of the attempts of a hedged request, that can be cancelled from
+ * another thread.
+ * <p>
+ * The attempt is bound to the thread executing it. The {@link #interceptor()} registers the OkHttp calls made on that
+ * thread with the attempt, cancelling the attempt cancels its current OkHttp call. Unlike an interrupt this aborts a
+ * call blocked in a socket read right away.
+ */
+public final class UpstreamAttempt {
+    private static final ThreadLocal<UpstreamAttempt> CURRENT = new ThreadLocal<>();
+
+    private volatile Call call;
+    private volatile boolean cancelled;
+
+    /**
+     * Runs the supplier as this attempt on the calling thread.
+     */
+    public <T> T run(Supplier<T> supplier) {
+        UpstreamAttempt previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        Call current = call;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return whether the current thread executes an attempt that was cancelled, its outcome says nothing about the
+     * upstream
+     */
+    public static boolean isCurrentCancelled() {
+        UpstreamAttempt attempt = CURRENT.get();
+        return attempt != null && attempt.cancelled;
+    }
+
+    /**
+     * Application interceptor registering each OkHttp call with the attempt executing it. Synchronous calls run their
+     * application interceptors on the calling thread.
+     */
+    public static Interceptor interceptor() {
+        return chain -> {
+            UpstreamAttempt attempt = CURRENT.get();
+            if (attempt != null) {
+                attempt.register(chain.call());
+            }
+            return chain.proceed(chain.request());
+        };
+    }
+
+    private void register(Call call) {
+        this.call = call;
+        // Cancelled between two calls (e.g. before a retry), the new call must not outlive the attempt
+        if (cancelled) {
+            call.cancel();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.haucky.lexofficeadapter.lexoffice.resilience;
+
+import feign.MethodMetadata;
+import feign.Request;
+import lombok.Getter;
+
+/**
+ * The upstream operations of the Lexoffice API the adapter calls, used to key resilience state and metrics
+ * per operation. The names follow the outbound latency timers (e.g. {@code outbound.lexoffice.contacts.getById}).
+ */
+@Getter
+public enum UpstreamOperation {
+    CREATE("create"),
+    GET_BY_ID("getById"),
+    LIST("getAll"),
+    COUNTRIES("countries");
+
+    private final String tagValue;
+
+    UpstreamOperation(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    /**
+     * Resolves the operation from the Feign method that created the request, falling back to the request line
+     * for requests that were not created through {@code LexofficeFeignClient}.
+     */
+    public static UpstreamOperation of(Request request) {
+        MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        if (metadata != null && metadata.method() != null) {
+            UpstreamOperation operation = switch (metadata.method().getName()) {
+                case "createContact" -> CREATE;
+                case "getContactById" -> GET_BY_ID;
+                case "getAllContactsWithFilter", "streamAllContactsWithFilter" -> LIST;
+                case "getCountries" -> COUNTRIES;
+                default -> null;
+            };
+            if (operation != null) {
+                return operation;
+            }
+        }
+
+        return of(request.httpMethod().name(), request.url());
+    }
+
+    public static UpstreamOperation of(String httpMethod, String url) {
+        String path = url.replaceFirst("\\?.*$", "");
+        if (path.endsWith("/countries")) {
+            return COUNTRIES;
+        }
+        if ("POST".equals(httpMethod)) {
+            return CREATE;
+        }
+        return path.matches(".*/contacts/[^/]+/?$") ? GET_BY_ID : LIST;
+    }
+}
@@ -0,0 +1,57 @@
+package com.haucky.lexofficeadapter.lexoffice.tenant;
+
+import com.haucky.lexofficeadapter.adapter.exception.UnknownTenantException;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the Lexoffice API token of a tenant. Tenants are configured under {@code lexoffice.api.tenants.<id>.token},
+ * the default tenant uses {@code lexoffice.api.token}.
+ */
+@Component
+public class LexofficeTenantRegistry {
+    private final Map<String, LexofficeApiProperties.Tenant> tenants;
+    private final String defaultToken;
+
+    public LexofficeTenantRegistry(LexofficeApiProperties properties, @Value("${lexoffice.api.token}") String defaultToken) {
+        this.tenants = properties.getTenants();
+        this.defaultToken = defaultToken;
+    }
+
+    public String tokenFor(String tenant) {
+        if (TenantContext.DEFAULT_TENANT.equals(tenant)) {
+            return defaultToken;
+        }
+
+        LexofficeApiProperties.Tenant settings = tenants.get(tenant);
+        if (settings == null || settings.getToken() == null) {
+            throw new UnknownTenantException(tenant);
+        }
+        return settings.getToken();
+    }
+
+    /**
+     * @return all tenants with a token, the default tenant first if a default token is configured
+     */
+    public Set<String> tenants() {
+        Set<String> tenantIds = new LinkedHashSet<>();
+        if (defaultToken != null && !defaultToken.isBlank()) {
+            tenantIds.add(TenantContext.DEFAULT_TENANT);
+        }
+        tenants.forEach((tenant, settings) -> {
+            if (settings.getToken() != null) {
+                tenantIds.add(tenant);
+            }
+        });
+        return tenantIds;
+    }
+
+    public String currentToken() {
+        return tokenFor(TenantContext.currentTenant());
+    }
+}
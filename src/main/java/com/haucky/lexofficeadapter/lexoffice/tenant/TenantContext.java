@@ -0,0 +1,53 @@
+package com.haucky.lexofficeadapter.lexoffice.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the tenant (Lexoffice organisation) of the request handled by the current thread.
+ * <p>
+ * Set by the JWT authentication filter from the tenant claim. Requests without tenant claim are served for the
+ * {@link #DEFAULT_TENANT}, which uses {@code lexoffice.api.token}.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    public static String currentTenant() {
+        String tenant = CURRENT_TENANT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static void setCurrentTenant(String tenant) {
+        CURRENT_TENANT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT_TENANT.remove();
+    }
+
+    /**
+     * Binds the supplier to the tenant of the calling thread, for work handed over to other threads.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+        String tenant = CURRENT_TENANT.get();
+        return () -> callAs(tenant, supplier);
+    }
+
+    /**
+     * Runs the supplier for the given tenant, e.g. for background work that was not started by a request.
+     */
+    public static <T> T callAs(String tenant, Supplier<T> supplier) {
+        String previous = CURRENT_TENANT.get();
+        CURRENT_TENANT.set(tenant);
+        try {
+            return supplier.get();
+        } finally {
+            CURRENT_TENANT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.haucky.lexofficeadapter.integration;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.async.enabled=true")
+@AutoConfigureWireMock(port = 9090)
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class })
+@DirtiesContext
+public class AsyncConcurrencyCapacityBenchmarkTest extends ConcurrencyCapacityBenchmark {
+
+    @Override
+    void assertCapacity(int concurrentRequests, Duration elapsed) {
+        // Servlet threads are released while waiting, so all requests share a few upstream round trips
+        assertThat(elapsed).isLessThan(UPSTREAM_DELAY.multipliedBy(4));
+    }
+}
@@ -0,0 +1,28 @@
+package com.haucky.lexofficeadapter.integration;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.async.enabled=false")
+@AutoConfigureWireMock(port = 9090)
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class })
+@DirtiesContext
+public class BlockingConcurrencyCapacityBenchmarkTest extends ConcurrencyCapacityBenchmark {
+
+    @Override
+    void assertCapacity(int concurrentRequests, Duration elapsed) {
+        // Requests are served in waves of TOMCAT_THREADS
+        long waves = concurrentRequests / TOMCAT_THREADS;
+        assertThat(elapsed).isGreaterThanOrEqualTo(UPSTREAM_DELAY.multipliedBy(waves));
+    }
+}
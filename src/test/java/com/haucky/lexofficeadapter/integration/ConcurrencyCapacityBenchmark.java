@@ -0,0 +1,131 @@
+package com.haucky.lexofficeadapter.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.contract.wiremock.WireMockConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires a burst of concurrent GET /v1/contacts/{id} requests at an adapter with a deliberately small Tomcat thread pool,
+ * while the WireMock stand-in for Lexoffice answers with a fixed delay.
+ * <p>
+ * A blocking adapter on platform threads can only serve {@code TOMCAT_THREADS} requests per upstream round trip, an
+ * asynchronous one or one on virtual threads is only bounded by the upstream. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "server.tomcat.threads.max=" + ConcurrencyCapacityBenchmark.TOMCAT_THREADS,
+        "lexoffice.api.rate-limit.permits-per-second=10000",
+        "lexoffice.api.rate-limit.burst=10000",
+        // Every request has to reach the upstream, identical requests would otherwise share one call or be cached
+        "lexoffice.api.coalescing.enabled=false",
+        "lexoffice.api.contact-cache.enabled=false",
+        "lexoffice.api.page-cache.enabled=false",
+        "lexoffice.api.bulkhead.reads.max-concurrent-calls=" + ConcurrencyCapacityBenchmark.MAX_CONCURRENT_REQUESTS,
+        "lexoffice.api.http.max-requests=" + ConcurrencyCapacityBenchmark.MAX_CONCURRENT_REQUESTS,
+        "lexoffice.api.http.max-requests-per-host=" + ConcurrencyCapacityBenchmark.MAX_CONCURRENT_REQUESTS
+})
+@Import(ConcurrencyCapacityBenchmark.DelayingWireMockConfig.class)
+abstract class ConcurrencyCapacityBenchmark {
+    static final int TOMCAT_THREADS = 8;
+    static final int MAX_CONCURRENT_REQUESTS = 2000;
+    static final Duration UPSTREAM_DELAY = Duration.ofMillis(500);
+
+    /**
+     * Delayed stub responses must not block WireMock's own request threads, otherwise WireMock becomes the bottleneck.
+     */
+    @TestConfiguration
+    static class DelayingWireMockConfig {
+        @Bean
+        WireMockConfigurationCustomizer asynchronousResponses() {
+            return config -> config
+                    .asynchronousResponseEnabled(true)
+                    .asynchronousResponseThreads(50)
+                    .containerThreads(200);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        WireMock.reset();
+        stubFor(get(urlPathEqualTo("/countries"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(loadJsonFromFile("test-data/valid-countries-response.json"))));
+        stubFor(get(urlPathMatching("/contacts/.+"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay((int) UPSTREAM_DELAY.toMillis())
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(loadJsonFromFile("test-data/valid-contact-response.json"))));
+    }
+
+    @Test
+    public void measureConcurrentRequestCapacity() {
+        // Warm up connections and the country cache
+        send().join();
+
+        // Act
+        int concurrentRequests = concurrentRequests();
+        long start = System.nanoTime();
+        List<HttpResponse<Void>> responses = IntStream.range(0, concurrentRequests)
+                .mapToObj(i -> send())
+                .toList()
+                .stream()
+                .map(CompletableFuture::join)
+                .toList();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertThat(responses).allSatisfy(response -> assertThat(response.statusCode()).isEqualTo(200));
+
+        double requestsPerSecond = concurrentRequests / (elapsed.toMillis() / 1000.0);
+        System.out.printf("[%s] %d concurrent requests, %d Tomcat threads, %d ms upstream delay: %d ms total, %.1f req/s, %d peak platform threads%n",
+                getClass().getSimpleName(), concurrentRequests, TOMCAT_THREADS, UPSTREAM_DELAY.toMillis(),
+                elapsed.toMillis(), requestsPerSecond, ManagementFactory.getThreadMXBean().getPeakThreadCount());
+        assertCapacity(concurrentRequests, elapsed);
+    }
+
+    int concurrentRequests() {
+        return 64;
+    }
+
+    abstract void assertCapacity(int concurrentRequests, Duration elapsed);
+
+    private CompletableFuture<HttpResponse<Void>> send() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/contacts/" + UUID.randomUUID()))
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+}
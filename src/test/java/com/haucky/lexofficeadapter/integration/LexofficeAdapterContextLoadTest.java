@@ -3,7 +3,7 @@ package com.haucky.lexofficeadapter.integration;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "lexoffice.api.warmup.enabled=false")
 class LexofficeAdapterContextLoadTest {
 
     @Test
@@ -182,6 +182,45 @@ public class LexofficeAdapterIntegrationTest {
             Stream<ValidationError> validationErrorStream = problem.getValidationErrors().stream().filter(e -> e.getField().equals("addresses.billing[0].countryCode"));
             assertTrue(validationErrorStream.anyMatch(e -> e.getMessage().equals("country code not available")));
         }
+
+        @Test
+        public void givenCreatedContact_whenReadingItRightAfterCreation_thenLexofficeIsReadOnlyOnce() throws Exception {
+            // Arrange
+            String contactRequest = loadJsonFromFile("test-data/valid-contact-request-complete.json");
+            UUID createdId = UUID.randomUUID();
+            String creationResponseBody = loadJsonFromFile("test-data/valid-contact-creation-response.json")
+                    .replace("05777d4a-53a1-4226-a2b7-c8f81fa8a290", createdId.toString());
+            stubFor(post(urlEqualTo(lexContactEndpoint))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .withBody(creationResponseBody)));
+            stubFor(get(urlEqualTo(lexContactEndpoint + "/" + createdId))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .withBody(loadJsonFromFile("test-data/valid-contact-response.json"))));
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<String> requestEntity = new HttpEntity<>(contactRequest, headers);
+
+            // Act
+            ResponseEntity<ContactCreated> created = restTemplate.exchange(
+                    "http://localhost:" + port + adapterEndpoint,
+                    HttpMethod.POST,
+                    requestEntity,
+                    ContactCreated.class);
+            ResponseEntity<ContactResponse> response = restTemplate.getForEntity(
+                    "http://localhost:" + port + adapterEndpoint + "/{id}",
+                    ContactResponse.class,
+                    created.getBody().getId());
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            // Whether the read waited for the prefetch or the prefetch found the read's result, only one went upstream
+            verify(1, getRequestedFor(urlEqualTo(lexContactEndpoint + "/" + createdId)));
+        }
     }
 
     // GET /v1/contacts/{id} tests
@@ -0,0 +1,145 @@
+package com.haucky.lexofficeadapter.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.haucky.lexofficeadapter.adapter.dto.problem.Problem;
+import com.haucky.lexofficeadapter.common.dto.mapper.ContactMapper;
+import com.haucky.lexofficeadapter.lexoffice.LexofficeContactService;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.streaming.enabled=true")
+@AutoConfigureWireMock(port = 9090)
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class })
+public class StreamingContactsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContactMapper contactMapper;
+
+    @Autowired
+    private LexofficeContactService contactService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        WireMock.reset();
+        stubFor(get(urlPathEqualTo("/countries"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(loadJsonFromFile("test-data/valid-countries-response.json"))));
+    }
+
+    @AfterEach
+    public void teardown() {
+        // Streamed pages are put into the page cache
+        contactService.invalidateContactCache();
+    }
+
+    @Test
+    public void givenStreamingEnabled_whenGetContacts_thenReturnSameJsonAsBufferedResponse() throws Exception {
+        // Arrange
+        String mockResponseBody = loadJsonFromFile("test-data/valid-contacts-response.json");
+        stubFor(get(urlPathEqualTo("/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(mockResponseBody)));
+
+        String expectedBody = objectMapper.writeValueAsString(
+                contactMapper.contactsPageToContactsPageResponse(objectMapper.readValue(mockResponseBody, ContactsPage.class)));
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity("http://localhost:" + port + "/v1/contacts", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getBody()).isEqualTo(expectedBody);
+    }
+
+    @Test
+    public void givenStreamingEnabled_whenGetContactsAndUpstreamApiReturnsError_thenPropagateError() {
+        // Arrange
+        stubFor(get(urlPathEqualTo("/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("{ \"message\": \"Internal Server Error\" }")));
+
+        // Act
+        ResponseEntity<Problem> response = restTemplate.getForEntity("http://localhost:" + port + "/v1/contacts", Problem.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getTitle()).isEqualTo("Bad Gateway");
+    }
+
+    @Test
+    public void givenStreamedPage_whenGetContactsAgain_thenAnswerFromPageCacheWithETag() throws Exception {
+        // Arrange
+        stubFor(get(urlPathEqualTo("/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(loadJsonFromFile("test-data/valid-contacts-response.json"))));
+        ResponseEntity<String> streamed = restTemplate.getForEntity("http://localhost:" + port + "/v1/contacts", String.class);
+
+        // Act
+        ResponseEntity<String> cached = restTemplate.getForEntity("http://localhost:" + port + "/v1/contacts", String.class);
+
+        // Assert
+        assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cached.getHeaders().getETag()).isNotNull();
+        assertThat(cached.getBody()).isEqualTo(streamed.getBody());
+        verify(1, getRequestedFor(urlPathEqualTo("/contacts")));
+    }
+
+    @Test
+    public void givenUpstreamBodyBreaksOffAfterFirstContact_whenGetContacts_thenResponseIsAborted() throws Exception {
+        // Arrange
+        String mockResponseBody = loadJsonFromFile("test-data/valid-contacts-response.json");
+        String truncatedBody = mockResponseBody.substring(0, mockResponseBody.indexOf("\"id\"", mockResponseBody.indexOf("\"id\"") + 1));
+        stubFor(get(urlPathEqualTo("/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(truncatedBody)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> restTemplate.getForEntity("http://localhost:" + port + "/v1/contacts", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.haucky.lexofficeadapter.integration;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.async.enabled=false", "spring.threads.virtual.enabled=true"})
+@AutoConfigureWireMock(port = 9090)
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class })
+@DirtiesContext
+public class VirtualThreadConcurrencyCapacityBenchmarkTest extends ConcurrencyCapacityBenchmark {
+
+    @Override
+    int concurrentRequests() {
+        return 1000;
+    }
+
+    @Override
+    void assertCapacity(int concurrentRequests, Duration elapsed) {
+        // Blocking code, but every request gets its own virtual thread instead of waiting for one of TOMCAT_THREADS
+        assertThat(elapsed).isLessThan(UPSTREAM_DELAY.multipliedBy(10));
+    }
+}
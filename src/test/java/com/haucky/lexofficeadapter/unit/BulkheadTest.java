@@ -0,0 +1,73 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.adapter.exception.BulkheadFullException;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.resilience.Bulkhead;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CallClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenSaturatedBulkheadWithoutQueue_whenAcquiring_thenRejectWithServiceUnavailable() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead(CallClass.LISTS,
+                new LexofficeApiProperties.BulkheadPool(2, 0, Duration.ofMillis(100)), meterRegistry);
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        // Act & Assert
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .satisfies(e -> assertThat(((BulkheadFullException) e).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(bulkhead.inFlightCalls()).isEqualTo(2);
+        assertThat(meterRegistry.get("lexoffice.bulkhead.rejected").tag("class", "lists").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lexoffice.bulkhead.utilization").tag("class", "lists").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenSaturatedBulkheadWithQueue_whenSlotIsReleased_thenQueuedCallerProceeds() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead(CallClass.READS,
+                new LexofficeApiProperties.BulkheadPool(1, 1, Duration.ofSeconds(5)), meterRegistry);
+        bulkhead.acquire();
+
+        // Act
+        CompletableFuture<Void> queuedCaller = CompletableFuture.runAsync(bulkhead::acquire);
+        Thread.sleep(50);
+        bulkhead.release();
+
+        // Assert
+        queuedCaller.get(1, TimeUnit.SECONDS);
+        assertThat(bulkhead.inFlightCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void givenSaturatedBulkhead_whenWaitTimesOut_thenReject() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead(CallClass.COUNTRY_REFRESH,
+                new LexofficeApiProperties.BulkheadPool(1, 5, Duration.ofMillis(20)), meterRegistry);
+        bulkhead.acquire();
+
+        // Act & Assert
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(BulkheadFullException.class);
+        assertThat(meterRegistry.get("lexoffice.bulkhead.queued").tag("class", "country-refresh").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,121 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.adapter.exception.CircuitBreakerOpenException;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreaker;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(50).toNanos();
+    private static final long SLOW = Duration.ofSeconds(10).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        LexofficeApiProperties.CircuitBreaker settings = new LexofficeApiProperties.CircuitBreaker();
+        settings.setSlidingWindowSize(10);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallDurationThreshold(Duration.ofSeconds(5));
+        settings.setSlowCallRateThreshold(80);
+        settings.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        settings.setPermittedCallsInHalfOpenState(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(UpstreamOperation.GET_BY_ID, settings, meterRegistry, clock::get);
+    }
+
+    @Test
+    void givenFailureRateAboveThreshold_whenCalling_thenOpenAndRejectWithRemainingWaitTime() {
+        // Arrange
+        recordCalls(2, false, FAST);
+        recordCalls(2, true, FAST);
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(circuitBreaker::acquirePermission)
+                .isInstanceOf(CircuitBreakerOpenException.class)
+                .satisfies(e -> assertThat(((CircuitBreakerOpenException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(20)));
+        assertThat(meterRegistry.get("lexoffice.circuitbreaker.state").tag("operation", "getById").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("lexoffice.circuitbreaker.transitions").tag("to", "open").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenFailuresBelowMinimumNumberOfCalls_whenCalling_thenStayClosed() {
+        // Act
+        recordCalls(3, true, FAST);
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void givenSlowSuccessfulCalls_whenCalling_thenOpen() {
+        // Act
+        recordCalls(4, false, SLOW);
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void givenOpenCircuitAfterWaitDuration_whenProbesSucceed_thenClose() {
+        // Arrange
+        recordCalls(4, true, FAST);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(circuitBreaker::acquirePermission).isInstanceOf(CircuitBreakerOpenException.class);
+
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void givenOpenCircuitAfterWaitDuration_whenProbeFails_thenOpenAgain() {
+        // Arrange
+        recordCalls(4, true, FAST);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        recordCalls(2, true, FAST);
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("lexoffice.circuitbreaker.transitions").tag("from", "half_open").tag("to", "open")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private void recordCalls(int count, boolean failed, long durationNanos) {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.acquirePermission();
+            if (failed) {
+                circuitBreaker.onFailure(durationNanos);
+            } else {
+                circuitBreaker.onSuccess(durationNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactCache;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContactCacheTest {
+
+    private LexofficeApiProperties.ContactCache settings;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+    private List<String> loadedForTenants;
+    private int upstreamVersion;
+
+    @BeforeEach
+    void setUp() {
+        settings = new LexofficeApiProperties().getContactCache();
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new AtomicInteger();
+        loadedForTenants = new ArrayList<>();
+        upstreamVersion = 1;
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void givenCachedContact_whenReadingAgain_thenUpstreamIsCalledOnceAndHitIsRecorded() {
+        // Arrange
+        ContactCache cache = cache();
+        UUID id = UUID.randomUUID();
+
+        // Act
+        cache.get(id);
+        Contact contact = cache.get(id);
+
+        // Assert
+        assertThat(contact.getId()).isEqualTo(id);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lexoffice.contacts").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenDifferentTenants_whenReadingSameContact_thenEachTenantLoadsForItself() {
+        // Arrange
+        ContactCache cache = cache();
+        UUID id = UUID.randomUUID();
+
+        // Act
+        cache.get(id);
+        TenantContext.setCurrentTenant("acme");
+        cache.get(id);
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        assertThat(loadedForTenants).containsExactly(TenantContext.DEFAULT_TENANT, "acme");
+    }
+
+    @Test
+    void givenNewerCachedVersion_whenPuttingOlderVersion_thenNewerVersionIsKept() {
+        // Arrange
+        ContactCache cache = cache();
+        UUID id = UUID.randomUUID();
+        cache.put(contact(id, 3));
+
+        // Act
+        cache.put(contact(id, 2));
+
+        // Assert
+        assertThat(cache.getIfPresent(id).getVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void givenCachedContact_whenInvalidated_thenNextReadLoadsAgain() {
+        // Arrange
+        ContactCache cache = cache();
+        UUID id = UUID.randomUUID();
+        cache.get(id);
+        upstreamVersion = 2;
+
+        // Act
+        cache.invalidate(id);
+        Contact contact = cache.get(id);
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        assertThat(contact.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void givenContactCachedForTwoTenants_whenInvalidatedForOne_thenOtherTenantKeepsIt() {
+        // Arrange
+        ContactCache cache = cache();
+        UUID id = UUID.randomUUID();
+        cache.get(id);
+        TenantContext.setCurrentTenant("acme");
+        cache.get(id);
+
+        // Act
+        cache.invalidate(id);
+
+        // Assert
+        assertThat(cache.getIfPresent(id)).isNull();
+        TenantContext.clear();
+        assertThat(cache.getIfPresent(id)).isNotNull();
+    }
+
+    @Test
+    void givenSlowLoad_whenReadingAnotherContact_thenItIsNotBlocked() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch slowLoadReleased = new CountDownLatch(1);
+        UUID slowId = UUID.randomUUID();
+        ContactCache cache = new ContactCache(settings, id -> {
+            if (id.equals(slowId)) {
+                await(slowLoadReleased);
+            }
+            return contact(id, upstreamVersion);
+        }, executor, new ObjectMapper(), meterRegistry);
+
+        try {
+            CompletableFuture<Contact> slow = cache.getAsync(slowId);
+
+            // Act
+            Contact other = CompletableFuture.supplyAsync(() -> cache.get(UUID.randomUUID())).get(2, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(other).isNotNull();
+            assertThat(slow).isNotDone();
+        } finally {
+            slowLoadReleased.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenSizeBound_whenCachingManyContacts_thenEntriesAreEvicted() {
+        // Arrange
+        settings.setMaxEntries(10);
+        ContactCache cache = cache();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            cache.get(UUID.randomUUID());
+        }
+        cache.cleanUp();
+
+        // Assert
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(10);
+    }
+
+    private ContactCache cache() {
+        return new ContactCache(settings, id -> {
+            loads.incrementAndGet();
+            loadedForTenants.add(TenantContext.currentTenant());
+            return contact(id, upstreamVersion);
+        }, Runnable::run, new ObjectMapper(), meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Contact contact(UUID id, int version) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setVersion(version);
+        return contact;
+    }
+}
@@ -3,11 +3,16 @@ package com.haucky.lexofficeadapter.unit;
 import static com.haucky.lexofficeadapter.adapter.AdapterConstants.ADAPTER_ERROR_DOCS;
 import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.haucky.lexofficeadapter.adapter.controller.ContactController;
@@ -24,11 +29,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.UUID;
 
 @WebMvcTest(ContactController.class)
@@ -150,6 +158,67 @@ public class ContactControllerTest {
                     .andExpect(jsonPath("$.detail", containsString("not-a-valid-uuid")))
                     .andExpect(jsonPath("$.instance").exists());
         }
+
+        @Test
+        public void givenVersionedContact_whenGettingContactByIdEndpoint_thenReturnETag() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(lexofficeContactService.getContactById(id)).thenReturn(contact(id, 3));
+
+            // Act & Assert
+            mockMvc.perform(get("/v1/contacts/{id}", id))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-3\""));
+        }
+
+        @Test
+        public void givenMatchingIfNoneMatch_whenGettingContactByIdEndpoint_thenReturnNotModifiedWithoutMapping() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(lexofficeContactService.getContactById(id)).thenReturn(contact(id, 3));
+
+            // Act & Assert
+            mockMvc.perform(get("/v1/contacts/{id}", id)
+                            .header(HttpHeaders.IF_NONE_MATCH, "W/\"" + id + "-3\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-3\""));
+            verify(contactMapper, never()).contactToContactResponse(any());
+        }
+
+        @Test
+        public void givenOutdatedIfNoneMatch_whenGettingContactByIdEndpoint_thenReturnContact() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(lexofficeContactService.getContactById(id)).thenReturn(contact(id, 4));
+
+            // Act & Assert
+            mockMvc.perform(get("/v1/contacts/{id}", id)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"" + id + "-3\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-4\""));
+            verify(contactMapper).contactToContactResponse(any());
+        }
+
+        @Test
+        public void givenReplicaMode_whenGettingContactByIdEndpoint_thenReturnReplicaAge() throws Exception {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            when(lexofficeContactService.replicaAge()).thenReturn(Optional.of(Duration.ofSeconds(42)));
+            when(lexofficeContactService.getContactById(id)).thenReturn(contact(id, 3));
+
+            // Act & Assert
+            mockMvc.perform(get("/v1/contacts/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.AGE, "42"));
+        }
+
+        private Contact contact(UUID id, int version) {
+            Contact contact = new Contact();
+            contact.setId(id);
+            contact.setVersion(version);
+            return contact;
+        }
     }
 
     @Nested
@@ -231,5 +300,27 @@ public class ContactControllerTest {
                     .andExpect(jsonPath("$.validationErrors[?(@.field == 'name')].message", hasItem(containsString("at least 3 characters"))))
                     .andExpect(jsonPath("$.validationErrors[?(@.field == 'number')].message", hasItem(containsString("must be positive"))));
         }
+
+        @Test
+        public void givenUnchangedPage_whenGettingContactsWithIfNoneMatch_thenReturnNotModifiedWithoutMapping() throws Exception {
+            // Arrange
+            Contact contact = new Contact();
+            contact.setId(UUID.randomUUID());
+            contact.setVersion(1);
+            ContactsPage contactsPage = new ContactsPage();
+            contactsPage.setContent(Collections.singletonList(contact));
+            contactsPage.setTotalElements(1);
+            when(lexofficeContactService.getAllContactsWithFilter(any(), any())).thenReturn(contactsPage);
+
+            String eTag = mockMvc.perform(get("/v1/contacts").param("page", "0").param("size", "25"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // Act & Assert
+            mockMvc.perform(get("/v1/contacts").param("page", "0").param("size", "25")
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+            verify(contactMapper).contactsPageToContactsPageResponse(any());
+        }
     }
 }
\ No newline at end of file
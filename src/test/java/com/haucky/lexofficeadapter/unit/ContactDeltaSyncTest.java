@@ -0,0 +1,129 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactDeltaSync;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactReplica;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.dto.LexofficeEvent;
+import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ContactDeltaSyncTest {
+    private static final ZonedDateTime SYNCED = ZonedDateTime.of(2025, 4, 19, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private LexofficeFeignClient lexofficeFeignClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ContactReplica replica;
+    private ContactDeltaSync deltaSync;
+    private Contact haucky;
+    private Contact lexware;
+
+    @BeforeEach
+    void setUp() {
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "test-token");
+        Clock clock = Clock.fixed(SYNCED.plusMinutes(1).toInstant(), ZoneOffset.UTC);
+        lexofficeFeignClient = mock(LexofficeFeignClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        replica = new ContactReplica(lexofficeFeignClient, tenantRegistry, properties.getReplica(), null, null, Runnable::run,
+                meterRegistry, clock);
+        deltaSync = new ContactDeltaSync(replica, lexofficeFeignClient, tenantRegistry, Runnable::run, meterRegistry, clock);
+
+        haucky = contact(UUID.randomUUID(), 1, SYNCED.minusDays(1));
+        lexware = contact(UUID.randomUUID(), 1, SYNCED.minusDays(1));
+        ContactsPage page = new ContactsPage();
+        page.setContent(List.of(haucky, lexware));
+        page.setLast(true);
+        when(lexofficeFeignClient.getAllContactsWithFilter(anyMap())).thenReturn(page);
+        replica.sync(TenantContext.DEFAULT_TENANT);
+    }
+
+    @Test
+    void givenChangedCreatedAndDeletedContacts_whenRunningCycle_thenOnlyChangedContactsAreFetched() {
+        // Arrange
+        Contact changedHaucky = contact(haucky.getId(), 2, SYNCED);
+        Contact created = contact(UUID.randomUUID(), 1, SYNCED);
+        when(lexofficeFeignClient.getContactById(haucky.getId())).thenReturn(changedHaucky);
+        when(lexofficeFeignClient.getContactById(created.getId())).thenReturn(created);
+        deltaSync.onEvent(TenantContext.DEFAULT_TENANT, event("contact.changed", haucky.getId(), SYNCED));
+        deltaSync.onEvent(TenantContext.DEFAULT_TENANT, event("contact.created", created.getId(), SYNCED));
+        deltaSync.onEvent(TenantContext.DEFAULT_TENANT, event("contact.deleted", lexware.getId(), SYNCED));
+
+        // Act
+        int calls = deltaSync.cycle(TenantContext.DEFAULT_TENANT);
+
+        // Assert
+        assertThat(calls).isEqualTo(2);
+        ContactsPage page = replica.findPage(Map.of("page", "0")).orElseThrow();
+        assertThat(page.getContent()).containsExactly(changedHaucky, created);
+        assertThat(meterRegistry.get("lexoffice.replica.sync.calls").tag("type", "delta").summary().totalAmount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void givenEventAlreadyReflectedInReplica_whenRunningCycle_thenNoUpstreamCallIsMade() {
+        // Arrange
+        deltaSync.onEvent(TenantContext.DEFAULT_TENANT, event("contact.changed", haucky.getId(), SYNCED.minusDays(2)));
+
+        // Act
+        int calls = deltaSync.cycle(TenantContext.DEFAULT_TENANT);
+
+        // Assert
+        assertThat(calls).isZero();
+        assertThat(replica.findById(haucky.getId())).contains(haucky);
+    }
+
+    @Test
+    void givenFailingFetch_whenRunningCycle_thenChangeIsRetriedInNextCycle() {
+        // Arrange
+        Contact changedHaucky = contact(haucky.getId(), 2, SYNCED);
+        when(lexofficeFeignClient.getContactById(haucky.getId()))
+                .thenThrow(LexofficeException.builder().status(HttpStatus.SERVICE_UNAVAILABLE).build())
+                .thenReturn(changedHaucky);
+        deltaSync.onEvent(TenantContext.DEFAULT_TENANT, event("contact.changed", haucky.getId(), SYNCED));
+
+        // Act
+        deltaSync.cycle(TenantContext.DEFAULT_TENANT);
+        Contact afterFailure = replica.findById(haucky.getId()).orElseThrow();
+        deltaSync.cycle(TenantContext.DEFAULT_TENANT);
+
+        // Assert
+        assertThat(afterFailure).isEqualTo(haucky);
+        assertThat(replica.findById(haucky.getId())).contains(changedHaucky);
+    }
+
+    private static Contact contact(UUID id, int version, ZonedDateTime updatedDate) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setVersion(version);
+        contact.setUpdatedDate(updatedDate);
+        return contact;
+    }
+
+    private static LexofficeEvent event(String eventType, UUID resourceId, ZonedDateTime eventDate) {
+        LexofficeEvent event = new LexofficeEvent();
+        event.setEventType(eventType);
+        event.setResourceId(resourceId);
+        event.setEventDate(eventDate);
+        return event;
+    }
+}
@@ -0,0 +1,113 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.common.dto.Company;
+import com.haucky.lexofficeadapter.common.dto.Customer;
+import com.haucky.lexofficeadapter.common.dto.EmailAddresses;
+import com.haucky.lexofficeadapter.common.dto.Roles;
+import com.haucky.lexofficeadapter.common.dto.Vendor;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactReplica;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures list queries combining the role filters with each other and with name and email searches against the
+ * replica, for organisations of 10k and 100k contacts. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class ContactFilterBenchmarkTest {
+    private static final int QUERIES = 1_000;
+    private static final int DOMAINS = 5_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000})
+    void givenReplica_whenCombiningFilters_thenQueriesAreAnsweredInSubMillisecondTime(int contactCount) {
+        // Arrange
+        Random random = new Random(42);
+        ContactReplica replica = replica(syntheticContacts(contactCount, random));
+        List<Map<String, String>> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(switch (i % 3) {
+                case 0 -> Map.of("customer", "true", "vendor", "false", "page", String.valueOf(random.nextInt(10)));
+                case 1 -> Map.of("customer", "true", "name", "Firma " + random.nextInt(contactCount));
+                default -> Map.of("vendor", "true", "email", "@firma-" + random.nextInt(DOMAINS) + ".de");
+            });
+        }
+
+        // Act
+        long matches = 0;
+        long start = 0;
+        for (int round = 0; round < 3; round++) {
+            matches = 0;
+            start = System.nanoTime();
+            for (Map<String, String> query : queries) {
+                matches += replica.findPage(query).orElseThrow().getTotalElements();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        long perQueryMicros = elapsed.toNanos() / QUERIES / 1000;
+        System.out.printf("Combined filters over %d contacts: %d µs per query (%d matching contacts in %d queries)%n",
+                contactCount, perQueryMicros, matches, QUERIES);
+        assertThat(perQueryMicros).isLessThan(1000);
+    }
+
+    private static ContactReplica replica(List<Contact> contacts) {
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        LexofficeFeignClient lexofficeFeignClient = mock(LexofficeFeignClient.class);
+        ContactsPage page = new ContactsPage();
+        page.setContent(contacts);
+        page.setLast(true);
+        when(lexofficeFeignClient.getAllContactsWithFilter(anyMap())).thenReturn(page);
+        ContactReplica replica = new ContactReplica(lexofficeFeignClient, new LexofficeTenantRegistry(properties, "test-token"),
+                properties.getReplica(), null, null, Runnable::run, new SimpleMeterRegistry(), Clock.systemUTC());
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        return replica;
+    }
+
+    private static List<Contact> syntheticContacts(int count, Random random) {
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Contact contact = new Contact();
+            contact.setId(UUID.randomUUID());
+            contact.setVersion(1);
+            Company company = new Company();
+            company.setName("Firma " + i + " GmbH");
+            contact.setCompany(company);
+            EmailAddresses emailAddresses = new EmailAddresses();
+            emailAddresses.setBusiness(List.of("info." + i + "@firma-" + random.nextInt(DOMAINS) + ".de"));
+            contact.setEmailAddresses(emailAddresses);
+            Roles roles = new Roles();
+            if (random.nextInt(10) < 7) {
+                roles.setCustomer(new Customer());
+            }
+            if (random.nextInt(10) < 4) {
+                roles.setVendor(new Vendor());
+            }
+            contact.setRoles(roles);
+            contacts.add(contact);
+        }
+        return contacts;
+    }
+}
@@ -0,0 +1,405 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.common.dto.Company;
+import com.haucky.lexofficeadapter.common.dto.CompanyContactPerson;
+import com.haucky.lexofficeadapter.common.dto.Customer;
+import com.haucky.lexofficeadapter.common.dto.EmailAddresses;
+import com.haucky.lexofficeadapter.common.dto.Roles;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactReplica;
+import com.haucky.lexofficeadapter.lexoffice.cache.ReplicaSnapshotFile;
+import com.haucky.lexofficeadapter.lexoffice.cache.ReplicaSyncBudget;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class ContactReplicaTest {
+
+    private LexofficeFeignClient lexofficeFeignClient;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private ContactReplica replica;
+    private Contact haucky;
+    private Contact lexware;
+    private Contact supplier;
+
+    @BeforeEach
+    void setUp() {
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getReplica().setPageSize(2);
+        lexofficeFeignClient = mock(LexofficeFeignClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-04-19T10:00:00Z"));
+        replica = new ContactReplica(lexofficeFeignClient, new LexofficeTenantRegistry(properties, "test-token"),
+                properties.getReplica(), null, null, Runnable::run, meterRegistry, clock);
+
+        haucky = contact("Haucky GmbH", "info@haucky.com", true);
+        lexware = contact("Lexware GmbH", "office@lexware.de", true);
+        supplier = contact("Büromarkt AG", "vertrieb@bueromarkt.de", false);
+        when(lexofficeFeignClient.getAllContactsWithFilter(anyMap())).thenReturn(
+                upstreamPage(0, List.of(haucky, lexware), false),
+                upstreamPage(1, List.of(supplier), true));
+    }
+
+    @Test
+    void givenTwoUpstreamPages_whenSyncing_thenAllContactsAreReplicatedAndPagedLikeLexoffice() {
+        // Act
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        ContactsPage page = replica.findPage(Map.of("page", "1", "size", "2")).orElseThrow();
+
+        // Assert
+        verify(lexofficeFeignClient, times(2)).getAllContactsWithFilter(anyMap());
+        assertThat(page.getContent()).containsExactly(supplier);
+        assertThat(page.getNumber()).isEqualTo(1);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.getFirst()).isFalse();
+        assertThat(page.getLast()).isTrue();
+        assertThat(meterRegistry.get("lexoffice.replica.size").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("lexoffice.replica.sync.contacts").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void givenSyncedReplica_whenFilteringByNameAndRole_thenOnlyMatchingContactsAreReturned() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+
+        // Act
+        ContactsPage byName = replica.findPage(Map.of("name", "GMBH")).orElseThrow();
+        ContactsPage byEmail = replica.findPage(Map.of("email", "office@%.de")).orElseThrow();
+        ContactsPage vendors = replica.findPage(Map.of("customer", "false")).orElseThrow();
+
+        // Assert
+        assertThat(byName.getContent()).containsExactly(haucky, lexware);
+        assertThat(byEmail.getContent()).containsExactly(lexware);
+        assertThat(vendors.getContent()).containsExactly(supplier);
+    }
+
+    @Test
+    void givenSyncedReplica_whenSearchingContactPersonName_thenIndexedContactsArePagedLikeLexoffice() {
+        // Arrange
+        CompanyContactPerson person = new CompanyContactPerson();
+        person.setFirstName("Erika");
+        person.setLastName("Musterfrau");
+        haucky.getCompany().setContactPersons(List.of(person));
+        replica.sync(TenantContext.DEFAULT_TENANT);
+
+        // Act
+        ContactsPage byPerson = replica.findPage(Map.of("name", "MUSTERFRAU", "size", "1")).orElseThrow();
+        ContactsPage byWildcard = replica.findPage(Map.of("name", "gmb_", "page", "1", "size", "1")).orElseThrow();
+
+        // Assert
+        assertThat(byPerson.getContent()).containsExactly(haucky);
+        assertThat(byPerson.getTotalElements()).isEqualTo(1);
+        assertThat(byWildcard.getContent()).containsExactly(lexware);
+        assertThat(byWildcard.getTotalPages()).isEqualTo(2);
+        assertThat(byWildcard.getLast()).isTrue();
+    }
+
+    @Test
+    void givenChangedEmailApplied_whenSearchingByDomain_thenIndexReflectsTheChange() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        Contact moved = contact("Lexware GmbH", "office@haufe.de", true);
+        moved.setId(lexware.getId());
+        moved.setVersion(2);
+
+        // Act
+        ContactsPage before = replica.findPage(Map.of("email", "@lexware.de")).orElseThrow();
+        replica.apply(TenantContext.DEFAULT_TENANT, List.of(moved), List.of(), null);
+        ContactsPage oldDomain = replica.findPage(Map.of("email", "@lexware.de")).orElseThrow();
+        ContactsPage newDomain = replica.findPage(Map.of("email", "office@hau%")).orElseThrow();
+
+        // Assert
+        assertThat(before.getContent()).containsExactly(lexware);
+        assertThat(oldDomain.getContent()).isEmpty();
+        assertThat(newDomain.getContent()).containsExactly(moved);
+    }
+
+    @Test
+    void givenRemovedAndCreatedContactsApplied_whenPaging_thenTombstonesAreSkippedAndNewContactsAppended() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        Contact created = contact("Neukunde GmbH", "info@neukunde.de", true);
+        Contact renamed = contact("Haufe GmbH", "office@lexware.de", true);
+        renamed.setId(lexware.getId());
+        renamed.setVersion(2);
+
+        // Act
+        replica.apply(TenantContext.DEFAULT_TENANT, List.of(created, renamed), List.of(haucky.getId()), null);
+        ContactsPage all = replica.findPage(Map.of()).orElseThrow();
+        ContactsPage byNewName = replica.findPage(Map.of("name", "haufe")).orElseThrow();
+        ContactsPage byAppendedName = replica.findPage(Map.of("name", "neukunde", "customer", "true")).orElseThrow();
+        ContactsPage byRemovedName = replica.findPage(Map.of("name", "haucky")).orElseThrow();
+
+        // Assert
+        assertThat(all.getContent()).containsExactly(renamed, supplier, created);
+        assertThat(all.getTotalElements()).isEqualTo(3);
+        assertThat(byNewName.getContent()).containsExactly(renamed);
+        assertThat(byAppendedName.getContent()).containsExactly(created);
+        assertThat(byRemovedName.getContent()).isEmpty();
+        assertThat(replica.findById(haucky.getId())).isEmpty();
+        assertThat(meterRegistry.get("lexoffice.replica.size").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void givenAppliedChanges_whenFullSyncCompletes_thenReplicaIsCompactedToLexofficeOrder() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        Contact created = contact("Neukunde GmbH", "info@neukunde.de", true);
+        replica.apply(TenantContext.DEFAULT_TENANT, List.of(created), List.of(haucky.getId()), null);
+        when(lexofficeFeignClient.getAllContactsWithFilter(anyMap())).thenReturn(
+                upstreamPage(0, List.of(created, lexware), false),
+                upstreamPage(1, List.of(supplier), true));
+
+        // Act
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        ContactsPage all = replica.findPage(Map.of()).orElseThrow();
+        ContactsPage byName = replica.findPage(Map.of("name", "gmbh")).orElseThrow();
+
+        // Assert
+        assertThat(all.getContent()).containsExactly(created, lexware, supplier);
+        assertThat(byName.getContent()).containsExactly(created, lexware);
+        assertThat(replica.findById(haucky.getId())).isEmpty();
+    }
+
+    @Test
+    void givenContactRemovedWhileFullSyncIsReading_whenSyncCompletes_thenItStaysRemoved() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        when(lexofficeFeignClient.getAllContactsWithFilter(anyMap()))
+                .thenReturn(upstreamPage(0, List.of(haucky, lexware), false))
+                .thenAnswer(invocation -> {
+                    // Deleted after the sync read it with the first page
+                    replica.apply(TenantContext.DEFAULT_TENANT, List.of(), List.of(haucky.getId()), null);
+                    return upstreamPage(1, List.of(supplier), true);
+                });
+
+        // Act
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        ContactsPage all = replica.findPage(Map.of()).orElseThrow();
+        ContactsPage byDomain = replica.findPage(Map.of("email", "@haucky.com")).orElseThrow();
+
+        // Assert
+        assertThat(all.getContent()).containsExactly(lexware, supplier);
+        assertThat(byDomain.getContent()).isEmpty();
+        assertThat(replica.findById(haucky.getId())).isEmpty();
+    }
+
+    @Test
+    void givenRoleAndNameFilters_whenCombined_thenPageIsCutFromTheIntersection() {
+        // Arrange
+        supplier.getCompany().setName("Büromarkt GmbH");
+        replica.sync(TenantContext.DEFAULT_TENANT);
+
+        // Act
+        ContactsPage customers = replica.findPage(Map.of("name", "gmbh", "customer", "true", "page", "1", "size", "1"))
+                .orElseThrow();
+        ContactsPage nonCustomers = replica.findPage(Map.of("name", "gmbh", "customer", "false", "vendor", "false"))
+                .orElseThrow();
+
+        // Assert
+        assertThat(customers.getContent()).containsExactly(lexware);
+        assertThat(customers.getTotalElements()).isEqualTo(2);
+        assertThat(customers.getLast()).isTrue();
+        assertThat(nonCustomers.getContent()).containsExactly(supplier);
+    }
+
+    @Test
+    void givenReplicaOlderThanStalenessBound_whenReading_thenNothingIsServedFromIt() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+
+        // Act
+        clock.advance(new LexofficeApiProperties().getReplica().getMaxStaleness().plusSeconds(1));
+
+        // Assert
+        assertThat(replica.findById(haucky.getId())).isEmpty();
+        assertThat(replica.findPage(Map.of("page", "0"))).isEmpty();
+        assertThat(replica.age()).isEmpty();
+    }
+
+    @Test
+    void givenAppliedChangesAndEmptyDeltaCycles_whenTimePasses_thenOnlyDeltaWatermarkMovesAndReplicaGetsStale() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        Contact changed = contact("Lexware GmbH", "office@lexware.de", true);
+        changed.setId(lexware.getId());
+        changed.setVersion(2);
+        Duration maxStaleness = new LexofficeApiProperties().getReplica().getMaxStaleness();
+
+        // Act
+        clock.advance(Duration.ofMinutes(30));
+        replica.apply(TenantContext.DEFAULT_TENANT, List.of(changed), List.of(), clock.instant());
+        Optional<Duration> ageAfterDelta = replica.age();
+        clock.advance(maxStaleness);
+        replica.apply(TenantContext.DEFAULT_TENANT, List.of(), List.of(), clock.instant());
+
+        // Assert
+        assertThat(ageAfterDelta).contains(Duration.ofMinutes(30));
+        assertThat(replica.age()).isEmpty();
+        assertThat(meterRegistry.get("lexoffice.replica.lag").gauge().value())
+                .isEqualTo(Duration.ofMinutes(30).plus(maxStaleness).toSeconds());
+        assertThat(meterRegistry.get("lexoffice.replica.delta.lag").gauge().value()).isEqualTo(maxStaleness.toSeconds());
+    }
+
+    @Test
+    void givenFreshReplica_whenReadingUnknownContact_thenItIsNotServedFromReplica() {
+        // Arrange
+        replica.sync(TenantContext.DEFAULT_TENANT);
+        clock.advance(Duration.ofSeconds(30));
+
+        // Act & Assert
+        assertThat(replica.findById(haucky.getId())).contains(haucky);
+        assertThat(replica.findById(UUID.randomUUID())).isEmpty();
+        assertThat(replica.age()).contains(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void givenPersistedSync_whenRestartedReplicaIsRestored_thenReadsAreServedWithoutUpstreamCall(@TempDir Path directory) {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getReplica().setPageSize(2);
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "test-token");
+        new ContactReplica(lexofficeFeignClient, tenantRegistry, properties.getReplica(), new ReplicaSnapshotFile(directory), null,
+                Runnable::run, meterRegistry, clock).sync(TenantContext.DEFAULT_TENANT);
+        LexofficeFeignClient restartedClient = mock(LexofficeFeignClient.class);
+        ContactReplica restarted = new ContactReplica(restartedClient, tenantRegistry, properties.getReplica(),
+                new ReplicaSnapshotFile(directory), null, Runnable::run, new SimpleMeterRegistry(), clock);
+
+        // Act
+        restarted.restore();
+
+        // Assert
+        assertThat(restarted.findPage(Map.of("page", "0", "size", "25")).orElseThrow().getTotalElements()).isEqualTo(3);
+        assertThat(restarted.findById(supplier.getId())).contains(supplier);
+        verifyNoInteractions(restartedClient);
+    }
+
+    @Test
+    void givenRestoredSnapshotYoungerThanSyncInterval_whenCheckingForDueSyncs_thenLexofficeIsNotCalledUntilItIsDue(@TempDir Path directory) {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getReplica().setPageSize(2);
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "test-token");
+        new ContactReplica(lexofficeFeignClient, tenantRegistry, properties.getReplica(), new ReplicaSnapshotFile(directory), null,
+                Runnable::run, meterRegistry, clock).sync(TenantContext.DEFAULT_TENANT);
+        LexofficeFeignClient restartedClient = mock(LexofficeFeignClient.class);
+        when(restartedClient.getAllContactsWithFilter(anyMap())).thenReturn(upstreamPage(0, List.of(haucky), true));
+        ContactReplica restarted = new ContactReplica(restartedClient, tenantRegistry, properties.getReplica(),
+                new ReplicaSnapshotFile(directory), null, Runnable::run, new SimpleMeterRegistry(), clock);
+        restarted.restore();
+
+        // Act
+        restarted.syncDue();
+        clock.advance(properties.getReplica().getSyncInterval());
+        restarted.syncDue();
+
+        // Assert
+        verify(restartedClient, times(1)).getAllContactsWithFilter(anyMap());
+    }
+
+    @Test
+    void givenRateLimiterWithoutSparePermit_whenSyncing_thenSyncWaitsForRequestsToLeaveOne() {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getReplica().setPageSize(2);
+        properties.getReplica().setSyncPermitsPerSecond(100);
+        properties.getRateLimit().setPermitsPerSecond(2);
+        properties.getRateLimit().setBurst(2);
+        RateLimiterRegistry rateLimiters = new RateLimiterRegistry(properties, meterRegistry);
+        ContactReplica pacedReplica = new ContactReplica(lexofficeFeignClient, new LexofficeTenantRegistry(properties, "test-token"),
+                properties.getReplica(), null, new ReplicaSyncBudget(rateLimiters, properties, meterRegistry), Runnable::run,
+                meterRegistry, clock);
+        // Requests used up the burst, the sync may only start once two permits are stored again
+        rateLimiters.forTenant(TenantContext.DEFAULT_TENANT).acquire();
+        rateLimiters.forTenant(TenantContext.DEFAULT_TENANT).acquire();
+
+        // Act
+        long start = System.nanoTime();
+        pacedReplica.sync(TenantContext.DEFAULT_TENANT);
+
+        // Assert
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(500));
+        assertThat(pacedReplica.findById(supplier.getId())).contains(supplier);
+    }
+
+    private static Contact contact(String name, String email, boolean customer) {
+        Contact contact = new Contact();
+        contact.setId(UUID.randomUUID());
+        contact.setVersion(1);
+        Company company = new Company();
+        company.setName(name);
+        contact.setCompany(company);
+        EmailAddresses emailAddresses = new EmailAddresses();
+        emailAddresses.setBusiness(List.of(email));
+        contact.setEmailAddresses(emailAddresses);
+        Roles roles = new Roles();
+        if (customer) {
+            roles.setCustomer(new Customer());
+        }
+        contact.setRoles(roles);
+        return contact;
+    }
+
+    private static ContactsPage upstreamPage(int number, List<Contact> content, boolean last) {
+        ContactsPage page = new ContactsPage();
+        page.setContent(content);
+        page.setNumber(number);
+        page.setLast(last);
+        return page;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactsPageCache;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContactsPageCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContactsPageCache cache;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ContactsPageCache(new LexofficeApiProperties().getPageCache(), meterRegistry);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void givenSameQueryInDifferentOrderAndCase_whenListing_thenUpstreamIsCalledOnce() {
+        // Arrange
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("page", "0");
+        first.put("name", "Haucky GmbH");
+        first.put("email", "Info@Haucky.com");
+        Map<String, String> second = new LinkedHashMap<>();
+        second.put("email", "info@haucky.com");
+        second.put("name", "HAUCKY GMBH");
+        second.put("page", "0");
+
+        // Act
+        cache.get(first, this::loadPage);
+        cache.get(second, this::loadPage);
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lexoffice.contactPages").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenDifferentPage_whenListing_thenUpstreamIsCalledAgain() {
+        // Arrange
+        Map<String, String> first = Map.of("page", "0", "size", "25");
+        Map<String, String> second = Map.of("page", "1", "size", "25");
+
+        // Act
+        cache.get(first, this::loadPage);
+        cache.get(second, this::loadPage);
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void givenCachedPagesOfTwoTenants_whenInvalidatingCurrentTenant_thenOnlyItsPagesAreDropped() {
+        // Arrange
+        Map<String, String> query = Map.of("page", "0");
+        cache.get(query, this::loadPage);
+        TenantContext.setCurrentTenant("acme");
+        cache.get(query, this::loadPage);
+
+        // Act
+        cache.invalidateCurrentTenant();
+
+        // Assert
+        assertThat(cache.getIfPresent(query)).isNull();
+        TenantContext.clear();
+        assertThat(cache.getIfPresent(query)).isNotNull();
+    }
+
+    @Test
+    void givenInvalidationWhileLoading_whenLoadCompletes_thenPageIsReturnedButNotCached() {
+        // Arrange
+        Map<String, String> query = Map.of("page", "0");
+
+        // Act
+        ContactsPage page = cache.get(query, () -> {
+            // A contact was created while the list call was in flight, the page may not contain it
+            cache.invalidateCurrentTenant();
+            return loadPage();
+        });
+
+        // Assert
+        assertThat(page).isNotNull();
+        assertThat(cache.getIfPresent(query)).isNull();
+    }
+
+    private ContactsPage loadPage() {
+        upstreamCalls.incrementAndGet();
+        ContactsPage page = new ContactsPage();
+        page.setContent(Collections.emptyList());
+        page.setTotalElements(0);
+        return page;
+    }
+}
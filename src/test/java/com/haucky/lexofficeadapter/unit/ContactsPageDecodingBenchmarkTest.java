@@ -0,0 +1,126 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.haucky.lexofficeadapter.lexoffice.client.ContactsPageReader;
+import com.haucky.lexofficeadapter.lexoffice.client.FeignClientConfig;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the heap allocated for decoding a full page of 250 contacts through Feign decoder chains: the Spring Cloud
+ * OpenFeign default chain on a body buffered as a whole first (as Feign's {@code FULL} logger level does), against the
+ * adapter's {@link FeignClientConfig#lexofficeDecoder} on the body stream. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class ContactsPageDecodingBenchmarkTest {
+    private static final int PAGE_SIZE = 250;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void givenFullContactsPage_whenDecodingAsStream_thenAllocateLessThanBuffering() throws IOException {
+        // Arrange
+        byte[] body = fullPage();
+        ContactsPageReader reader = new ContactsPageReader(objectMapper, new LexofficeApiProperties(), new SimpleMeterRegistry());
+        ObjectFactory<HttpMessageConverters> messageConverters =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper));
+        ObjectProvider<HttpMessageConverterCustomizer> customizers =
+                new StaticListableBeanFactory().getBeanProvider(HttpMessageConverterCustomizer.class);
+
+        Decoder defaultDecoder = new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers)));
+        Decoder lexofficeDecoder = new FeignClientConfig().lexofficeDecoder(messageConverters, customizers, reader);
+
+        Decoding buffering = () -> (ContactsPage) defaultDecoder.decode(bufferedResponse(body), ContactsPage.class);
+        Decoding streaming = () -> (ContactsPage) lexofficeDecoder.decode(streamedResponse(body), ContactsPage.class);
+
+        // Act
+        long bufferingBytes = allocatedBytesPerDecode(buffering);
+        long streamingBytes = allocatedBytesPerDecode(streaming);
+
+        // Assert
+        System.out.printf("Decoding a page of %d contacts (%d bytes): buffering %d bytes, streaming %d bytes allocated%n",
+                PAGE_SIZE, body.length, bufferingBytes, streamingBytes);
+        assertThat(streamingBytes).isLessThan(bufferingBytes);
+    }
+
+    private long allocatedBytesPerDecode(Decoding decoding) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            decoding.decode();
+        }
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            decoding.decode();
+        }
+        return (threadBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+    }
+
+    // Like Feign's logger at level FULL, which reads the body into an array and hands on a copy of the response
+    private static Response bufferedResponse(byte[] body) throws IOException {
+        Response received = streamedResponse(body);
+        byte[] buffered = Util.toByteArray(received.body().asInputStream());
+        return received.toBuilder().body(buffered).build();
+    }
+
+    private static Response streamedResponse(byte[] body) {
+        return Response.builder()
+                .status(200)
+                .headers(Map.of(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE)))
+                .body(new ByteArrayInputStream(body), body.length)
+                .request(Request.create(Request.HttpMethod.GET, "/contacts", Map.of(), null, StandardCharsets.UTF_8, null))
+                .build();
+    }
+
+    private byte[] fullPage() throws IOException {
+        ObjectNode page = (ObjectNode) objectMapper.readTree(loadJsonFromFile("test-data/valid-contacts-response.json"));
+        JsonNode template = page.get("content").get(0);
+
+        ArrayNode content = page.putArray("content");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(((ObjectNode) template.deepCopy()).put("id", UUID.randomUUID().toString()));
+        }
+        page.put("size", PAGE_SIZE).put("numberOfElements", PAGE_SIZE).put("totalElements", PAGE_SIZE);
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @FunctionalInterface
+    private interface Decoding {
+        ContactsPage decode() throws IOException;
+    }
+}
@@ -0,0 +1,115 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haucky.lexofficeadapter.lexoffice.client.ContactsPageReader;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.dto.ContactsPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ContactsPageReaderTest {
+
+    private ObjectMapper objectMapper;
+    private LexofficeApiProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        properties = new LexofficeApiProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenContactsResponse_whenReading_thenResultEqualsDataBinding() throws IOException {
+        // Arrange
+        String json = loadJsonFromFile("test-data/valid-contacts-response.json");
+        ContactsPageReader reader = new ContactsPageReader(objectMapper, properties, meterRegistry);
+
+        // Act
+        ContactsPage page = reader.read(toStream(json));
+
+        // Assert
+        assertThat(page).isEqualTo(objectMapper.readValue(json, ContactsPage.class));
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getSize()).isEqualTo(25);
+        assertThat(page.getFirst()).isTrue();
+    }
+
+    @Test
+    void givenContactsResponse_whenReadingWithConsumer_thenContactsAreHandedOverOneByOne() throws IOException {
+        // Arrange
+        String json = loadJsonFromFile("test-data/valid-contacts-response.json");
+        ContactsPageReader reader = new ContactsPageReader(objectMapper, properties, meterRegistry);
+        List<Contact> contacts = new ArrayList<>();
+
+        // Act
+        ContactsPage page = reader.read(toStream(json), contacts::add);
+
+        // Assert
+        assertThat(contacts).hasSize(2);
+        assertThat(page.getContent()).isNull();
+        assertThat(page.getNumberOfElements()).isEqualTo(2);
+    }
+
+    @Test
+    void givenNullInContent_whenReading_thenSkipItAndReadRestOfPage() throws IOException {
+        // Arrange
+        String json = "{\"content\":[{\"id\":\"e9066f04-8cc7-4616-93f8-ac9ecc8479c8\"},null,"
+                + "{\"id\":\"313bfa93-7ad5-4b3c-bf19-7ec4ea66c0f1\"}],\"totalElements\":2,\"last\":true}";
+        ContactsPageReader reader = new ContactsPageReader(objectMapper, properties, meterRegistry);
+
+        // Act
+        ContactsPage page = reader.read(toStream(json));
+
+        // Assert
+        assertThat(page.getContent()).hasSize(2).doesNotContainNull();
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getLast()).isTrue();
+    }
+
+    @Test
+    void givenResponseAboveLimit_whenReading_thenThrowResponseTooLarge() throws IOException {
+        // Arrange
+        String json = loadJsonFromFile("test-data/valid-contacts-response.json");
+        properties.getHttp().setMaxResponseSize(DataSize.ofBytes(100));
+        ContactsPageReader reader = new ContactsPageReader(objectMapper, properties, meterRegistry);
+
+        // Act & Assert
+        assertThatThrownBy(() -> reader.read(toStream(json)))
+                .isInstanceOf(ContactsPageReader.ResponseTooLargeException.class);
+    }
+
+    @Test
+    void givenContactsResponse_whenReading_thenRecordBytesAndDuration() throws IOException {
+        // Arrange
+        String json = loadJsonFromFile("test-data/valid-contacts-response.json");
+        ContactsPageReader reader = new ContactsPageReader(objectMapper, properties, meterRegistry);
+
+        // Act
+        reader.read(toStream(json));
+
+        // Assert
+        assertThat(meterRegistry.get("lexoffice.decode.bytes").summary().totalAmount())
+                .isEqualTo(json.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(meterRegistry.get("lexoffice.decode.duration").timer().count()).isEqualTo(1);
+    }
+
+    private static ByteArrayInputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
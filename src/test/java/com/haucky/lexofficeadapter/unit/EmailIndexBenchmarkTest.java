@@ -0,0 +1,94 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.common.dto.EmailAddresses;
+import com.haucky.lexofficeadapter.lexoffice.cache.EmailIndex;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the heap the email index takes per indexed address over 100k contacts with two addresses each, and the
+ * latency of exact, prefix and domain lookups compared to scanning all addresses. Heap figures are approximate, they
+ * are taken from the runtime's used memory around a requested garbage collection. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class EmailIndexBenchmarkTest {
+    private static final int CONTACTS = 100_000;
+    private static final int DOMAINS = 5_000;
+    private static final int QUERIES = 10_000;
+    private static final String[] LOCAL_PARTS = {"info", "office", "buchhaltung", "rechnung", "vertrieb", "kontakt"};
+
+    @Test
+    void givenHundredThousandContacts_whenLookingUpByEmail_thenIndexAnswersFasterThanScanning() {
+        // Arrange
+        Random random = new Random(42);
+        List<Contact> contacts = new ArrayList<>(CONTACTS);
+        for (int i = 0; i < CONTACTS; i++) {
+            String domain = "firma-" + random.nextInt(DOMAINS) + ".de";
+            Contact contact = new Contact();
+            contact.setId(UUID.randomUUID());
+            EmailAddresses emailAddresses = new EmailAddresses();
+            emailAddresses.setBusiness(List.of(LOCAL_PARTS[random.nextInt(LOCAL_PARTS.length)] + "@" + domain));
+            emailAddresses.setOther(List.of("kontakt." + i + "@" + domain));
+            contact.setEmailAddresses(emailAddresses);
+            contacts.add(contact);
+        }
+
+        // Act
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        EmailIndex index = new EmailIndex();
+        contacts.forEach(index::put);
+        Duration build = Duration.ofNanos(System.nanoTime() - start);
+        long bytesPerAddress = (usedHeap() - heapBefore) / index.addresses();
+
+        long found = 0;
+        for (int round = 0; round < 2; round++) {
+            found = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                int contact = random.nextInt(CONTACTS);
+                String domain = contacts.get(contact).getEmailAddresses().getOther().get(0).split("@")[1];
+                found += switch (i % 3) {
+                    case 0 -> index.exact("kontakt." + contact + "@" + domain).size();
+                    case 1 -> index.startingWith("kontakt." + contact).size();
+                    default -> index.inDomain(domain).size();
+                };
+            }
+        }
+        Duration indexed = Duration.ofNanos(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        long scanned = 0;
+        for (int i = 0; i < 100; i++) {
+            String domain = "@firma-" + random.nextInt(DOMAINS) + ".de";
+            scanned += contacts.stream()
+                    .filter(contact -> contact.getEmailAddresses().getBusiness().get(0).endsWith(domain)
+                            || contact.getEmailAddresses().getOther().get(0).endsWith(domain))
+                    .count();
+        }
+        Duration scan = Duration.ofNanos(System.nanoTime() - start).multipliedBy(QUERIES / 100);
+
+        // Assert
+        System.out.printf("Email index over %d addresses: built in %d ms, ~%d bytes per address, %d µs per lookup "
+                        + "(%d contacts found), scanning takes %d µs per lookup (%d found in 100 lookups)%n",
+                index.addresses(), build.toMillis(), bytesPerAddress, indexed.toNanos() / QUERIES / 1000, found,
+                scan.toNanos() / QUERIES / 1000, scanned);
+        assertThat(index.addresses()).isGreaterThanOrEqualTo(CONTACTS);
+        assertThat(indexed).isLessThan(scan);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
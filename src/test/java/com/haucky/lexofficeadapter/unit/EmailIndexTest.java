@@ -0,0 +1,93 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.common.dto.Company;
+import com.haucky.lexofficeadapter.common.dto.CompanyContactPerson;
+import com.haucky.lexofficeadapter.common.dto.EmailAddresses;
+import com.haucky.lexofficeadapter.lexoffice.cache.EmailIndex;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmailIndexTest {
+
+    private EmailIndex index;
+    private Contact haucky;
+    private Contact hauckyAustria;
+    private Contact lexware;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmailIndex();
+        haucky = contact(List.of("Info@Haucky.com"), "max.mustermann@haucky.com");
+        hauckyAustria = contact(List.of("office@haucky.com.at"), null);
+        lexware = contact(List.of("info@lexware.de", "buchhaltung@lexware.de"), null);
+        List.of(haucky, hauckyAustria, lexware).forEach(index::put);
+    }
+
+    @Test
+    void givenIndexedContacts_whenLookingUpExactAddress_thenOnlyItsContactIsFoundCaseInsensitively() {
+        // Act & Assert
+        assertThat(index.exact("info@haucky.com")).containsExactly(haucky.getId());
+        assertThat(index.exact("MAX.MUSTERMANN@haucky.com")).containsExactly(haucky.getId());
+        assertThat(index.exact("info@haucky")).isEmpty();
+    }
+
+    @Test
+    void givenIndexedContacts_whenLookingUpPrefixOrDomain_thenAllContactsInRangeAreFound() {
+        // Act & Assert
+        assertThat(index.startingWith("info@")).containsExactlyInAnyOrder(haucky.getId(), lexware.getId());
+        assertThat(index.inDomain("haucky.com")).containsExactly(haucky.getId());
+        assertThat(index.inDomainStartingWith("haucky.")).containsExactlyInAnyOrder(haucky.getId(), hauckyAustria.getId());
+        assertThat(index.addresses()).isEqualTo(5);
+    }
+
+    @Test
+    void givenChangedAndRemovedContacts_whenUpdatingIncrementally_thenOldAddressesAreNoLongerFound() {
+        // Arrange
+        lexware.getEmailAddresses().setBusiness(List.of("info@lexware.de"));
+        haucky.getEmailAddresses().setBusiness(List.of("info@haucky.de"));
+        haucky.getCompany().setContactPersons(List.of());
+
+        // Act
+        index.put(lexware);
+        index.put(haucky);
+        index.remove(hauckyAustria.getId());
+
+        // Assert
+        assertThat(index.exact("buchhaltung@lexware.de")).isEmpty();
+        assertThat(index.inDomain("lexware.de")).containsExactly(lexware.getId());
+        assertThat(index.inDomainStartingWith("haucky.")).containsExactly(haucky.getId());
+        assertThat(index.inDomain("haucky.com")).isEmpty();
+        assertThat(index.addresses()).isEqualTo(2);
+    }
+
+    @Test
+    void givenIndexedContacts_whenRetainingSome_thenOthersAreRemoved() {
+        // Act
+        index.retainAll(List.of(lexware.getId()));
+
+        // Assert
+        assertThat(index.startingWith("")).containsExactly(lexware.getId());
+    }
+
+    private static Contact contact(List<String> business, String contactPersonEmail) {
+        Contact contact = new Contact();
+        contact.setId(UUID.randomUUID());
+        EmailAddresses emailAddresses = new EmailAddresses();
+        emailAddresses.setBusiness(business);
+        contact.setEmailAddresses(emailAddresses);
+        Company company = new Company();
+        if (contactPersonEmail != null) {
+            CompanyContactPerson person = new CompanyContactPerson();
+            person.setEmailAddress(contactPersonEmail);
+            company.setContactPersons(List.of(person));
+        }
+        contact.setCompany(company);
+        return contact;
+    }
+}
@@ -1,13 +1,34 @@
 package com.haucky.lexofficeadapter.unit;
 
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
 import com.haucky.lexofficeadapter.lexoffice.client.FeignClientConfig;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.resilience.BulkheadRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreaker;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreakerRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import feign.Client;
+import feign.Request;
 import feign.RequestTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,15 +41,20 @@ class FeignClientConfigTest {
         feignClientConfig = new FeignClientConfig();
     }
 
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
     @Test
     void givenApiToken_whenAuthorizationInterceptorApplied_thenAuthorizationHeaderIsAdded() {
         // Arrange
         String apiToken = "test-token";
-        ReflectionTestUtils.setField(feignClientConfig, "apiToken", apiToken);
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(new LexofficeApiProperties(), apiToken);
         RequestTemplate template = new RequestTemplate();
 
         // Act
-        feignClientConfig.authorizationInterceptor().apply(template);
+        feignClientConfig.authorizationInterceptor(tenantRegistry).apply(template);
 
         // Assert
         Map<String, Collection<String>> headers = template.headers();
@@ -36,4 +62,84 @@ class FeignClientConfigTest {
         assertThat(headers.get("Authorization")).hasSize(1);
         assertThat(headers.get("Authorization").iterator().next()).contains("Bearer " + apiToken);
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenTenantWithOwnToken_whenAuthorizationInterceptorApplied_thenTenantTokenIsUsed() {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        LexofficeApiProperties.Tenant acme = new LexofficeApiProperties.Tenant();
+        acme.setToken("acme-token");
+        properties.getTenants().put("acme", acme);
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "test-token");
+        RequestTemplate template = new RequestTemplate();
+        TenantContext.setCurrentTenant("acme");
+
+        // Act
+        feignClientConfig.authorizationInterceptor(tenantRegistry).apply(template);
+
+        // Assert
+        assertThat(template.headers().get("Authorization")).containsExactly("Bearer acme-token");
+    }
+
+    @Test
+    void givenCallsQueuedByRateLimiter_whenUpstreamAnswersFast_thenCircuitBreakerRecordsNoSlowCalls() throws IOException {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getRateLimit().setPermitsPerSecond(10);
+        properties.getRateLimit().setBurst(1);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(3);
+        properties.getCircuitBreaker().setSlowCallRateThreshold(50);
+        properties.getCircuitBreaker().setSlowCallDurationThreshold(Duration.ofMillis(50));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(properties.getCircuitBreaker(), meterRegistry);
+        Client client = feignClientConfig.feignClient(stubbedOkHttpClient(), new RateLimiterRegistry(properties, meterRegistry),
+                circuitBreakers, new BulkheadRegistry(properties.getBulkhead(), meterRegistry),
+                new OutboundAuditLog(properties, meterRegistry), properties);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            client.execute(getContactRequest(), new Request.Options()).close();
+        }
+
+        // Assert
+        assertThat(circuitBreakers.forOperation(UpstreamOperation.GET_BY_ID).getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void givenResponseHeadersReceived_whenBodyIsClosed_thenBulkheadSlotIsReleased() throws IOException {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BulkheadRegistry bulkheads = new BulkheadRegistry(properties.getBulkhead(), meterRegistry);
+        Client client = feignClientConfig.feignClient(stubbedOkHttpClient(), new RateLimiterRegistry(properties, meterRegistry),
+                new CircuitBreakerRegistry(properties.getCircuitBreaker(), meterRegistry), bulkheads,
+                new OutboundAuditLog(properties, meterRegistry), properties);
+
+        // Act
+        feign.Response response = client.execute(getContactRequest(), new Request.Options());
+        int inFlightWhileReading = bulkheads.forOperation(UpstreamOperation.GET_BY_ID).inFlightCalls();
+        response.close();
+
+        // Assert
+        assertThat(inFlightWhileReading).isEqualTo(1);
+        assertThat(bulkheads.forOperation(UpstreamOperation.GET_BY_ID).inFlightCalls()).isZero();
+    }
+
+    private static Request getContactRequest() {
+        return Request.create(Request.HttpMethod.GET, "https://api.lexoffice.io/v1/contacts/" + UUID.randomUUID(),
+                new HashMap<>(), null, StandardCharsets.UTF_8, null);
+    }
+
+    // Answers every call right away without network
+    private static OkHttpClient stubbedOkHttpClient() {
+        return new OkHttpClient.Builder()
+                .addInterceptor(chain -> new okhttp3.Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                        .build())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.haucky.lexofficeadapter.unit;
 
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import com.haucky.lexofficeadapter.adapter.exception.GlobalExceptionHandler;
+import com.haucky.lexofficeadapter.adapter.exception.RateLimitExceededException;
 import com.haucky.lexofficeadapter.adapter.dto.problem.Problem;
 import com.haucky.lexofficeadapter.adapter.dto.problem.ValidationError;
 import com.haucky.lexofficeadapter.adapter.dto.problem.ValidationProblem;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 
 import static com.haucky.lexofficeadapter.adapter.AdapterConstants.ADAPTER_ERROR_DOCS;
@@ -197,6 +200,26 @@ public class GlobalExceptionHandlerTest {
         assertThat(problem.getInstance().toString()).contains("/api/test/upstream-request/" + requestId);
     }
 
+    @Test
+    void givenRateLimitExceededException_whenHandlingException_thenReturnTooManyRequestsWithRetryAfter() {
+        // Arrange
+        RateLimitExceededException ex = new RateLimitExceededException(Duration.ofMillis(1200));
+
+        // Act
+        ResponseEntity<Problem> response = exceptionHandler.handleUpstreamCallRejectedExceptions(ex, webRequest);
+
+        // Assert
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+        Problem problem = response.getBody();
+        assertThat(problem.getType()).isEqualTo(ADAPTER_ERROR_DOCS);
+        assertThat(problem.getTitle()).isEqualTo("Rate limit exceeded");
+        assertThat(problem.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(problem.getInstance()).isEqualTo(URI.create("/api/test"));
+    }
+
     @Test
     void givenUnexpectedRuntimeException_whenHandlingException_thenReturnGenericProblem() {
         // Arrange
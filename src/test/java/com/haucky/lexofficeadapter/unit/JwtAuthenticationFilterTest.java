@@ -0,0 +1,103 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.adapter.exception.UnknownTenantException;
+import com.haucky.lexofficeadapter.adapter.security.JwtAuthenticationFilter;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class JwtAuthenticationFilterTest {
+    private static final SecretKey SECRET_KEY =
+            Keys.hmacShaKeyFor("this-is-a-test-secret-key-for-jwt-at-least-32-chars-long".getBytes(StandardCharsets.UTF_8));
+
+    private final HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenTenantClaimRequired_whenTokenHasNoTenantClaim_thenRejectWithUnknownTenant() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(SECRET_KEY, "tenant", true, exceptionResolver);
+        MockHttpServletRequest request = requestWithToken(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        verify(exceptionResolver).resolveException(any(HttpServletRequest.class), any(HttpServletResponse.class), isNull(),
+                isA(UnknownTenantException.class));
+        verify(chain, never()).doFilter(any(), any());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void givenDefaultTenantFallback_whenTokenHasNoTenantClaim_thenContinueWithDefaultTenant() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(SECRET_KEY, "tenant", false, exceptionResolver);
+        MockHttpServletRequest request = requestWithToken(null);
+        String[] tenantInChain = new String[1];
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> tenantInChain[0] = TenantContext.currentTenant());
+
+        // Assert
+        assertThat(tenantInChain[0]).isEqualTo(TenantContext.DEFAULT_TENANT);
+        verify(exceptionResolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    void givenTenantClaimRequired_whenTokenHasTenantClaim_thenContinueWithThatTenant() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(SECRET_KEY, "tenant", true, exceptionResolver);
+        MockHttpServletRequest request = requestWithToken("acme");
+        String[] tenantInChain = new String[1];
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> tenantInChain[0] = TenantContext.currentTenant());
+
+        // Assert
+        assertThat(tenantInChain[0]).isEqualTo("acme");
+    }
+
+    private static MockHttpServletRequest requestWithToken(String tenant) {
+        JwtBuilder token = Jwts.builder()
+                .subject("user")
+                .claim("scope", "data:read");
+        if (tenant != null) {
+            token.claim("tenant", tenant);
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/contacts");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token.signWith(SECRET_KEY).compact());
+        return request;
+    }
+}
@@ -0,0 +1,189 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
+import com.haucky.lexofficeadapter.lexoffice.client.ContactsPageReader;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeAsyncClient;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
+import com.haucky.lexofficeadapter.lexoffice.resilience.Bulkhead;
+import com.haucky.lexofficeadapter.lexoffice.resilience.BulkheadRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.CircuitBreakerRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.haucky.lexofficeadapter.lexoffice.LexofficeConstants.LEXOFFICE_REQUEST_ID_KEY;
+import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LexofficeAsyncClientTest {
+
+    private WireMockServer wireMockServer;
+    private LexofficeAsyncClient asyncClient;
+    private OutboundAuditLog auditLog;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getRateLimit().setPermitsPerSecond(100);
+        properties.getRateLimit().setBurst(100);
+        auditLog = new OutboundAuditLog(properties, meterRegistry);
+        asyncClient = client(properties, new BulkheadRegistry(properties.getBulkhead(), meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void givenExistingContact_whenGettingContactAsynchronously_thenCompleteWithContact() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        wireMockServer.stubFor(get(urlEqualTo("/contacts/" + id))
+                .withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer test-token"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(loadJsonFromFile("test-data/valid-contact-response.json"))));
+
+        // Act
+        Contact contact = asyncClient.getContactById(id).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(contact).isNotNull();
+        assertThat(contact.getId()).isNotNull();
+    }
+
+    @Test
+    void givenUnknownContact_whenGettingContactAsynchronously_thenCompleteWithMappedLexofficeException() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        wireMockServer.stubFor(get(urlEqualTo("/contacts/" + id))
+                .willReturn(aResponse()
+                        .withStatus(404)
+                        .withHeader(LEXOFFICE_REQUEST_ID_KEY, "lex-404")));
+
+        // Act
+        CompletableFuture<Contact> future = asyncClient.getContactById(id);
+
+        // Assert
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(LexofficeException.class)
+                .satisfies(e -> {
+                    LexofficeException lexofficeException = (LexofficeException) e;
+                    assertThat(lexofficeException.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+                    assertThat(lexofficeException.getRequestId()).isEqualTo("lex-404");
+                });
+    }
+
+    @Test
+    void givenServiceUnavailable_whenGettingContactsAsynchronously_thenCompleteWithBadGateway() {
+        // Arrange
+        wireMockServer.stubFor(get(urlPathEqualTo("/contacts"))
+                .willReturn(aResponse().withStatus(503)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> asyncClient.getAllContactsWithFilter(Map.of("page", "0")).get(5, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOf(LexofficeException.class)
+                .satisfies(e -> assertThat(((LexofficeException) e).getStatus()).isEqualTo(HttpStatus.BAD_GATEWAY));
+    }
+
+    @Test
+    void givenThrottledCall_whenWaitingForItsRateLimitPermit_thenItHoldsNoBulkheadSlot() throws Exception {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getRateLimit().setPermitsPerSecond(1);
+        properties.getRateLimit().setBurst(1);
+        BulkheadRegistry bulkheads = new BulkheadRegistry(properties.getBulkhead(), meterRegistry);
+        LexofficeAsyncClient throttledClient = client(properties, bulkheads);
+        UUID id = UUID.randomUUID();
+        wireMockServer.stubFor(get(urlEqualTo("/contacts/" + id))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(loadJsonFromFile("test-data/valid-contact-response.json"))));
+        Bulkhead bulkhead = bulkheads.forOperation(UpstreamOperation.GET_BY_ID);
+        throttledClient.getContactById(id).get(5, TimeUnit.SECONDS);
+        // The slot is released after the result was completed
+        while (bulkhead.inFlightCalls() > 0) {
+            Thread.sleep(1);
+        }
+
+        // Act
+        CompletableFuture<Contact> throttled = throttledClient.getContactById(id);
+        int slotsInUseWhileWaiting = bulkhead.inFlightCalls();
+
+        // Assert
+        assertThat(throttled).isNotDone();
+        assertThat(slotsInUseWhileWaiting).isZero();
+        assertThat(throttled.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void givenUnknownContact_whenGettingContactAsynchronously_thenCallIsAuditedWithUriTemplate() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        wireMockServer.stubFor(get(urlEqualTo("/contacts/" + id))
+                .willReturn(aResponse()
+                        .withStatus(404)
+                        .withHeader(LEXOFFICE_REQUEST_ID_KEY, "lex-404")));
+
+        // Act
+        CompletableFuture<Contact> future = asyncClient.getContactById(id);
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+
+        // Assert
+        assertThat(auditLog.recent(10))
+                .singleElement()
+                .satisfies(call -> {
+                    assertThat(call.getMethod()).isEqualTo("GET");
+                    assertThat(call.getUriTemplate()).isEqualTo("/contacts/{id}");
+                    assertThat(call.getStatus()).isEqualTo(404);
+                    assertThat(call.getRequestId()).isEqualTo("lex-404");
+                });
+    }
+
+    private LexofficeAsyncClient client(LexofficeApiProperties properties, BulkheadRegistry bulkheads) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return new LexofficeAsyncClient(
+                new OkHttpClient(),
+                objectMapper,
+                new ContactsPageReader(objectMapper, properties, meterRegistry),
+                properties,
+                new RateLimiterRegistry(properties, meterRegistry),
+                new CircuitBreakerRegistry(properties.getCircuitBreaker(), meterRegistry),
+                bulkheads,
+                new LexofficeTenantRegistry(properties, "test-token"),
+                auditLog,
+                wireMockServer.baseUrl());
+    }
+}
@@ -6,6 +6,7 @@ import com.haucky.lexofficeadapter.lexoffice.client.LexofficeErrorDecoder;
 import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeValidationException;
 import feign.Request;
 import feign.Response;
+import feign.RetryableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -112,7 +113,7 @@ public class LexofficeErrorDecoderTest {
     }
 
     @Test
-    void givenServiceUnavailableResponse_whenErrorDecoderDecodes_thenReturnsApiExceptionWithBadGatewayStatus() {
+    void givenServiceUnavailableResponse_whenErrorDecoderDecodes_thenReturnsRetryableApiExceptionWithBadGatewayStatus() {
         // Arrange
         LexofficeErrorDecoder errorDecoder = new LexofficeErrorDecoder(new ObjectMapper());
         Response response = Response.builder()
@@ -127,13 +128,41 @@ public class LexofficeErrorDecoderTest {
         Exception exception = errorDecoder.decode("test", response);
 
         // Assert
-        assertThat(exception).isInstanceOf(LexofficeException.class);
-        LexofficeException lexofficeException = (LexofficeException) exception;
+        assertThat(exception).isInstanceOf(RetryableException.class);
+        assertThat(((RetryableException) exception).retryAfter()).isNull();
+        assertThat(exception.getCause()).isInstanceOf(LexofficeException.class);
+        LexofficeException lexofficeException = (LexofficeException) exception.getCause();
         assertThat(lexofficeException.getStatus()).isEqualTo(HttpStatus.BAD_GATEWAY);
         assertThat(lexofficeException.getTitle()).isEqualTo("Lexoffice API temporarily unavailable");
         assertThat(lexofficeException.getDetail()).contains("The service is unavailable, please try again later and checkout the status page at https://status.lexware.de/");
     }
 
+    @Test
+    void givenTooManyRequestsResponseWithRetryAfter_whenErrorDecoderDecodes_thenReturnsRetryableExceptionWithRetryAfter() {
+        // Arrange
+        LexofficeErrorDecoder errorDecoder = new LexofficeErrorDecoder(new ObjectMapper());
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put("Retry-After", Collections.singletonList("2"));
+        Response response = Response.builder()
+                .status(429)
+                .reason("Too Many Requests")
+                .headers(headers)
+                .request(Request.create(Request.HttpMethod.GET, RESPONSE_URL, new HashMap<>(), null, StandardCharsets.UTF_8, null))
+                .build();
+
+        // Act
+        long before = System.currentTimeMillis();
+        Exception exception = errorDecoder.decode("test", response);
+
+        // Assert
+        assertThat(exception).isInstanceOf(RetryableException.class);
+        RetryableException retryableException = (RetryableException) exception;
+        assertThat(retryableException.status()).isEqualTo(429);
+        assertThat(retryableException.retryAfter()).isBetween(before + 2000, System.currentTimeMillis() + 2000);
+        assertThat(retryableException.getCause()).isInstanceOf(LexofficeException.class);
+        assertThat(((LexofficeException) retryableException.getCause()).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @Test
     void givenInternalServerErrorResponse_whenErrorDecoderDecodes_thenReturnsApiExceptionWithBadGatewayStatus() {
         // Arrange
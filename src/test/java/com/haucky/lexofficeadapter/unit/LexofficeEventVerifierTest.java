@@ -0,0 +1,59 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.events.LexofficeEventVerifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LexofficeEventVerifierTest {
+    private static final byte[] BODY = ("{\"organizationId\":\"aa93e8a8-2aa3-470b-b914-caad8a255dd8\",\"eventType\":\"contact.changed\","
+            + "\"resourceId\":\"e9066f04-8cc7-4616-93f8-ac9ecc8479c8\",\"eventDate\":\"2025-04-19T11:07:17.417+02:00\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private KeyPair keyPair;
+    private LexofficeEventVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+        verifier = new LexofficeEventVerifier(pem);
+    }
+
+    @Test
+    void givenBodySignedWithLexofficeKey_whenVerifying_thenSignatureIsAccepted() throws GeneralSecurityException {
+        // Act & Assert
+        assertThat(verifier.isSigned(BODY, sign(BODY))).isTrue();
+    }
+
+    @Test
+    void givenTamperedBodyOrMissingSignature_whenVerifying_thenSignatureIsRejected() throws GeneralSecurityException {
+        // Arrange
+        String signature = sign(BODY);
+        byte[] tampered = new String(BODY, StandardCharsets.UTF_8).replace("changed", "deleted").getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThat(verifier.isSigned(tampered, signature)).isFalse();
+        assertThat(verifier.isSigned(BODY, null)).isFalse();
+        assertThat(verifier.isSigned(BODY, "not base64!")).isFalse();
+    }
+
+    private String sign(byte[] body) throws GeneralSecurityException {
+        Signature signature = Signature.getInstance("SHA512withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(body);
+        return Base64.getEncoder().encodeToString(signature.sign());
+    }
+}
@@ -0,0 +1,113 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeRetryer;
+import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LexofficeRetryerTest {
+    private static final String CONTACT_URL = "https://api.lexoffice.io/v1/contacts/66196c43-bfee-4dc2-8bb1-9fab4a1e2d6e";
+
+    private SimpleMeterRegistry meterRegistry;
+    private LexofficeApiProperties.Retry settings;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        settings = new LexofficeApiProperties.Retry();
+        settings.setMaxAttempts(3);
+        settings.setInitialBackoff(Duration.ofMillis(1));
+        settings.setMaxBackoff(Duration.ofMillis(5));
+        settings.setMaxTotalBackoff(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void givenTransientErrorOnGet_whenRetrying_thenRetryUntilMaxAttemptsAndPropagateLexofficeException() {
+        // Arrange
+        Retryer retryer = new LexofficeRetryer(settings, meterRegistry).clone();
+        RetryableException exception = retryableException(503, Request.HttpMethod.GET, null);
+
+        // Act
+        retryer.continueOrPropagate(exception);
+        retryer.continueOrPropagate(exception);
+
+        // Assert
+        assertThatThrownBy(() -> retryer.continueOrPropagate(exception))
+                .isInstanceOf(LexofficeException.class)
+                .isSameAs(exception.getCause());
+        assertThat(meterRegistry.get("lexoffice.retry.attempts").tag("outcome", "retried").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("lexoffice.retry.attempts").tag("outcome", "exhausted").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lexoffice.retry.backoff").tag("operation", "getById").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenServiceUnavailableOnCreate_whenRetrying_thenPropagateImmediately() {
+        // Arrange
+        Retryer retryer = new LexofficeRetryer(settings, meterRegistry).clone();
+        RetryableException exception = retryableException(503, Request.HttpMethod.POST, null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> retryer.continueOrPropagate(exception)).isSameAs(exception.getCause());
+    }
+
+    @Test
+    void givenTooManyRequestsOnCreate_whenRetrying_thenRetry() {
+        // Arrange
+        Retryer retryer = new LexofficeRetryer(settings, meterRegistry).clone();
+        RetryableException exception = retryableException(429, Request.HttpMethod.POST, null);
+
+        // Act
+        retryer.continueOrPropagate(exception);
+
+        // Assert
+        assertThat(meterRegistry.get("lexoffice.retry.attempts").tag("operation", "create").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenRetryAfterBeyondBudget_whenRetrying_thenPropagateWithoutWaiting() {
+        // Arrange
+        Retryer retryer = new LexofficeRetryer(settings, meterRegistry).clone();
+        RetryableException exception = retryableException(429, Request.HttpMethod.GET, System.currentTimeMillis() + 60_000);
+
+        // Act & Assert
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> retryer.continueOrPropagate(exception)).isSameAs(exception.getCause());
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void givenRetryAfterWithinBudget_whenRetrying_thenWaitForRetryAfter() {
+        // Arrange
+        Retryer retryer = new LexofficeRetryer(settings, meterRegistry).clone();
+        RetryableException exception = retryableException(429, Request.HttpMethod.GET, System.currentTimeMillis() + 100);
+
+        // Act
+        long start = System.nanoTime();
+        retryer.continueOrPropagate(exception);
+
+        // Assert
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    private static RetryableException retryableException(int status, Request.HttpMethod method, Long retryAfter) {
+        Request request = Request.create(method, CONTACT_URL, new HashMap<>(), null, StandardCharsets.UTF_8, null);
+        LexofficeException cause = LexofficeException.builder()
+                .title("Lexoffice API temporarily unavailable")
+                .status(HttpStatus.BAD_GATEWAY)
+                .build();
+        return new RetryableException(status, "transient", method, cause, retryAfter, request);
+    }
+}
@@ -0,0 +1,90 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.adapter.exception.UnknownTenantException;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LexofficeTenantRegistryTest {
+
+    private LexofficeApiProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LexofficeApiProperties();
+        properties.getRateLimit().setPermitsPerSecond(2);
+        properties.getRateLimit().setBurst(2);
+
+        LexofficeApiProperties.Tenant acme = new LexofficeApiProperties.Tenant();
+        acme.setToken("acme-token");
+        acme.setBurst(5);
+        properties.getTenants().put("acme", acme);
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void givenNoTenant_whenResolvingToken_thenDefaultTokenIsUsed() {
+        // Arrange
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "default-token");
+
+        // Act
+        String token = tenantRegistry.currentToken();
+
+        // Assert
+        assertThat(token).isEqualTo("default-token");
+    }
+
+    @Test
+    void givenConfiguredTenant_whenResolvingToken_thenTenantTokenIsUsed() {
+        // Arrange
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "default-token");
+        TenantContext.setCurrentTenant("acme");
+
+        // Act
+        String token = tenantRegistry.currentToken();
+
+        // Assert
+        assertThat(token).isEqualTo("acme-token");
+    }
+
+    @Test
+    void givenUnknownTenant_whenResolvingToken_thenThrowUnknownTenantException() {
+        // Arrange
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "default-token");
+        TenantContext.setCurrentTenant("unknown");
+
+        // Act & Assert
+        assertThatThrownBy(tenantRegistry::currentToken)
+                .isInstanceOf(UnknownTenantException.class);
+    }
+
+    @Test
+    void givenTwoTenants_whenOneUsesUpItsBudget_thenTheOtherIsNotAffected() {
+        // Arrange
+        RateLimiterRegistry rateLimiters = new RateLimiterRegistry(properties, meterRegistry);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            rateLimiters.forTenant("acme").reserve();
+        }
+
+        // Assert
+        assertThat(rateLimiters.forTenant("acme").availablePermits()).isLessThan(1);
+        assertThat(rateLimiters.forTenant(TenantContext.DEFAULT_TENANT).availablePermits()).isEqualTo(2);
+    }
+}
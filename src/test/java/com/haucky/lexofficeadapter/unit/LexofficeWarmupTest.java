@@ -0,0 +1,143 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.haucky.lexofficeadapter.lexoffice.LexofficeCountryService;
+import com.haucky.lexofficeadapter.lexoffice.LexofficeWarmup;
+import com.haucky.lexofficeadapter.lexoffice.client.CachingDns;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class LexofficeWarmupTest {
+
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry meterRegistry;
+    private LexofficeCountryService countryService;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        countryService = mock(LexofficeCountryService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void givenReachableUpstream_whenWarmingUp_thenConnectionsArePooledAndCountriesPrimed() {
+        // Arrange
+        wireMockServer.stubFor(any(anyUrl()).willReturn(aResponse().withStatus(404)));
+        CachingDns dns = new CachingDns(Dns.SYSTEM, Duration.ofMinutes(5));
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().dns(dns).build();
+        LexofficeWarmup warmup = new LexofficeWarmup(okHttpClient, dns, countryService, new LexofficeApiProperties(),
+                meterRegistry, wireMockServer.baseUrl() + "/v1");
+
+        // Act
+        boolean success = warmup.warmUp();
+
+        // Assert
+        assertThat(success).isTrue();
+        assertThat(okHttpClient.connectionPool().idleConnectionCount()).isPositive();
+        verify(countryService).refreshCountryCache();
+        wireMockServer.verify(headRequestedFor(urlEqualTo("/v1")).withoutHeader("Authorization"));
+        assertThat(meterRegistry.get("lexoffice.warmup.duration").tag("result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenHttp2Upstream_whenWarmingUp_thenSingleMultiplexedConnectionIsOpened() {
+        // Arrange
+        wireMockServer.stubFor(any(anyUrl()).willReturn(aResponse().withStatus(404)));
+        CachingDns dns = new CachingDns(Dns.SYSTEM, Duration.ofMinutes(5));
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .dns(dns)
+                .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+                .build();
+        LexofficeWarmup warmup = new LexofficeWarmup(okHttpClient, dns, countryService, new LexofficeApiProperties(),
+                meterRegistry, wireMockServer.baseUrl() + "/v1");
+
+        // Act
+        boolean success = warmup.warmUp();
+
+        // Assert
+        assertThat(success).isTrue();
+        assertThat(okHttpClient.connectionPool().connectionCount()).isEqualTo(1);
+        wireMockServer.verify(1, headRequestedFor(urlEqualTo("/v1")));
+    }
+
+    @Test
+    void givenFailingCountryRefresh_whenWarmingUp_thenReportFailureWithoutThrowing() {
+        // Arrange
+        wireMockServer.stubFor(any(anyUrl()).willReturn(aResponse().withStatus(404)));
+        doThrow(new IllegalStateException("upstream down")).when(countryService).refreshCountryCache();
+        CachingDns dns = new CachingDns(Dns.SYSTEM, Duration.ofMinutes(5));
+        LexofficeWarmup warmup = new LexofficeWarmup(new OkHttpClient.Builder().dns(dns).build(), dns, countryService,
+                new LexofficeApiProperties(), meterRegistry, wireMockServer.baseUrl() + "/v1");
+
+        // Act
+        boolean success = warmup.warmUp();
+
+        // Assert
+        assertThat(success).isFalse();
+        assertThat(meterRegistry.get("lexoffice.warmup.duration").tag("result", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenResolvedHost_whenLookingUpWithinTtl_thenCachedAddressesAreUsed() throws Exception {
+        // Arrange
+        AtomicInteger lookups = new AtomicInteger();
+        List<InetAddress> addresses = List.of(InetAddress.getByAddress("api.lexoffice.io", new byte[]{10, 0, 0, 1}));
+        CachingDns dns = new CachingDns(hostname -> {
+            lookups.incrementAndGet();
+            return addresses;
+        }, Duration.ofMinutes(5));
+
+        // Act
+        dns.lookup("api.lexoffice.io");
+        List<InetAddress> result = dns.lookup("api.lexoffice.io");
+
+        // Assert
+        assertThat(result).isEqualTo(addresses);
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    void givenExpiredEntryAndFailingResolver_whenLookingUp_thenLastKnownAddressesAreUsed() throws Exception {
+        // Arrange
+        List<InetAddress> addresses = List.of(InetAddress.getByAddress("api.lexoffice.io", new byte[]{10, 0, 0, 1}));
+        AtomicInteger lookups = new AtomicInteger();
+        CachingDns dns = new CachingDns(hostname -> {
+            if (lookups.incrementAndGet() > 1) {
+                throw new UnknownHostException(hostname);
+            }
+            return addresses;
+        }, Duration.ZERO);
+        dns.lookup("api.lexoffice.io");
+
+        // Act
+        List<InetAddress> result = dns.lookup("api.lexoffice.io");
+
+        // Assert
+        assertThat(result).isEqualTo(addresses);
+        assertThat(lookups).hasValue(2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.haucky.lexofficeadapter.unit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundCall;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the per-request cost on the calling thread of the former INFO logging (request line plus masked token) with
+ * recording the call in the sampled audit log. Log output goes to a discarding appender with the usual console
+ * pattern, so formatting and encoding are measured but not the terminal. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class OutboundAuditBenchmarkTest {
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    @Test
+    void givenSampledAuditLog_whenRecordingCalls_thenCheaperThanInfoLoggingPerRequest() {
+        // Arrange
+        Logger logger = discardingLogger();
+        OutboundAuditLog auditLog = new OutboundAuditLog(new LexofficeApiProperties(), new SimpleMeterRegistry());
+
+        Runnable infoLogging = () -> {
+            logger.info("Adding Authorization header: Bearer {}", "abcde...");
+            logger.info("Executing request: {} {}", "GET", "https://api.lexoffice.io/v1/contacts/86f5d7da-496a-4606-a18e-5753e19322a9");
+        };
+        Runnable auditing = () -> auditLog.record(OutboundCall.builder()
+                .timestamp(Instant.now())
+                .method("GET")
+                .uriTemplate("/contacts/{id}")
+                .status(200)
+                .latencyMillis(42)
+                .requestId("dcf69c72-e2c4-4580-9895-f03dbb4ca1")
+                .build());
+
+        // Act
+        long infoLoggingNanos = nanosPerCall(infoLogging);
+        long auditingNanos = nanosPerCall(auditing);
+
+        // Assert
+        System.out.printf("Per request: INFO logging %d ns, sampled audit log %d ns%n", infoLoggingNanos, auditingNanos);
+        assertThat(auditingNanos).isLessThan(infoLoggingNanos);
+    }
+
+    private static long nanosPerCall(Runnable call) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    private static Logger discardingLogger() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger logger = context.getLogger("benchmark.outbound");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
@@ -0,0 +1,102 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundAuditLog;
+import com.haucky.lexofficeadapter.lexoffice.audit.OutboundCall;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutboundAuditLogTest {
+
+    private LexofficeApiProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LexofficeApiProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenSampleRateZero_whenRecordingCalls_thenKeepOnlyFailedCalls() {
+        // Arrange
+        properties.getAudit().setSampleRate(0);
+        OutboundAuditLog auditLog = new OutboundAuditLog(properties, meterRegistry);
+
+        // Act
+        auditLog.record(call(200, null));
+        auditLog.record(call(404, null));
+        auditLog.record(call(0, "SocketTimeoutException: timeout"));
+
+        // Assert
+        List<OutboundCall> recent = auditLog.recent(10);
+        assertThat(recent).extracting(OutboundCall::getStatus).containsExactly(0, 404);
+    }
+
+    @Test
+    void givenMoreCallsThanCapacity_whenListingRecentCalls_thenReturnNewestFirst() {
+        // Arrange
+        properties.getAudit().setSampleRate(1);
+        properties.getAudit().setCapacity(4);
+        OutboundAuditLog auditLog = new OutboundAuditLog(properties, meterRegistry);
+
+        // Act
+        for (int i = 1; i <= 6; i++) {
+            auditLog.record(call(200 + i, null));
+        }
+
+        // Assert
+        assertThat(auditLog.recent(10)).extracting(OutboundCall::getStatus).containsExactly(206, 205, 204, 203);
+        assertThat(auditLog.recent(2)).extracting(OutboundCall::getStatus).containsExactly(206, 205);
+    }
+
+    @Test
+    void givenCallsOverwrittenBeforeFlush_whenFlushing_thenCountDroppedCalls() {
+        // Arrange
+        properties.getAudit().setSampleRate(1);
+        properties.getAudit().setCapacity(4);
+        OutboundAuditLog auditLog = new OutboundAuditLog(properties, meterRegistry);
+        for (int i = 0; i < 6; i++) {
+            auditLog.record(call(200, null));
+        }
+
+        // Act
+        auditLog.flush();
+        auditLog.record(call(200, null));
+        auditLog.flush();
+
+        // Assert
+        assertThat(meterRegistry.get("lexoffice.audit.dropped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenAuditDisabled_whenRecordingFailedCall_thenKeepNothing() {
+        // Arrange
+        properties.getAudit().setEnabled(false);
+        OutboundAuditLog auditLog = new OutboundAuditLog(properties, meterRegistry);
+
+        // Act
+        auditLog.record(call(500, null));
+
+        // Assert
+        assertThat(auditLog.recent(10)).isEmpty();
+    }
+
+    private static OutboundCall call(int status, String error) {
+        return OutboundCall.builder()
+                .timestamp(Instant.now())
+                .method("GET")
+                .uriTemplate("/contacts/{id}")
+                .status(status)
+                .latencyMillis(42)
+                .requestId("request-id")
+                .error(error)
+                .build();
+    }
+}
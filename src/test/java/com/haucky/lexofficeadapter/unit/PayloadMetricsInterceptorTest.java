@@ -0,0 +1,70 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.haucky.lexofficeadapter.lexoffice.client.PayloadMetricsInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.brotli.BrotliInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PayloadMetricsInterceptorTest {
+
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry meterRegistry;
+    private OkHttpClient okHttpClient;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(PayloadMetricsInterceptor.content(meterRegistry))
+                .addInterceptor(BrotliInterceptor.INSTANCE)
+                .addNetworkInterceptor(PayloadMetricsInterceptor.wire(meterRegistry))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void givenCompressedContactsPage_whenReadingResponse_thenCountWireAndContentBytes() throws Exception {
+        // Arrange
+        String body = loadJsonFromFile("test-data/valid-contacts-response.json");
+        wireMockServer.stubFor(get(urlEqualTo("/contacts"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(body)));
+
+        // Act
+        String responseBody;
+        try (Response response = okHttpClient.newCall(new Request.Builder().url(wireMockServer.baseUrl() + "/contacts").build()).execute()) {
+            responseBody = response.body().string();
+        }
+
+        // Assert
+        assertThat(responseBody).isEqualTo(body);
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/contacts")).withHeader(HttpHeaders.ACCEPT_ENCODING, containing("gzip")));
+
+        double contentBytes = meterRegistry.get("lexoffice.http.response.bytes").tag("operation", "getAll").tag("stage", "content").counter().count();
+        double wireBytes = meterRegistry.get("lexoffice.http.response.bytes").tag("operation", "getAll").tag("stage", "wire").counter().count();
+        assertThat(contentBytes).isEqualTo(body.getBytes().length);
+        assertThat(wireBytes).isPositive().isLessThan(contentBytes);
+    }
+}
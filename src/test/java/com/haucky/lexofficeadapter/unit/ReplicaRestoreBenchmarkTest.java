@@ -0,0 +1,84 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haucky.lexofficeadapter.lexoffice.cache.ContactReplica;
+import com.haucky.lexofficeadapter.lexoffice.cache.ReplicaSnapshotFile;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeFeignClient;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import com.haucky.lexofficeadapter.lexoffice.tenant.LexofficeTenantRegistry;
+import com.haucky.lexofficeadapter.lexoffice.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.haucky.lexofficeadapter.utils.TestUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the time from creating the replica after a restart until it answers its first list query from a persisted
+ * snapshot, compared to rebuilding it through rate-limited Lexoffice list calls of 250 contacts.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class ReplicaRestoreBenchmarkTest {
+    private static final int PAGE_SIZE = 250;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000})
+    void givenPersistedSnapshot_whenRestarting_thenServingStartsFasterThanRebuildingThroughLexoffice(int contactCount) throws IOException {
+        // Arrange
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        ReplicaSnapshotFile snapshotFile = new ReplicaSnapshotFile(directory);
+        snapshotFile.write(TenantContext.DEFAULT_TENANT, Instant.now(), syntheticContacts(contactCount));
+        LexofficeTenantRegistry tenantRegistry = new LexofficeTenantRegistry(properties, "test-token");
+
+        // Act
+        long start = System.nanoTime();
+        ContactReplica replica = new ContactReplica(mock(LexofficeFeignClient.class), tenantRegistry, properties.getReplica(),
+                snapshotFile, null, Runnable::run, new SimpleMeterRegistry(), Clock.systemUTC());
+        replica.restore();
+        int served = replica.findPage(Map.of("page", "0", "size", "25")).orElseThrow().getTotalElements();
+        Duration startupToServing = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        Duration rebuild = Duration.ofMillis((long) Math.ceil((double) contactCount / PAGE_SIZE)
+                * (long) (1000 / properties.getRateLimit().getPermitsPerSecond()));
+        System.out.printf("Restoring %d contacts (%d bytes snapshot): serving after %d ms, rebuilding through Lexoffice takes at least %d s%n",
+                contactCount, Files.size(snapshotFile.file(TenantContext.DEFAULT_TENANT)), startupToServing.toMillis(),
+                rebuild.toSeconds());
+        assertThat(served).isEqualTo(contactCount);
+        assertThat(startupToServing).isLessThan(rebuild);
+    }
+
+    private List<Contact> syntheticContacts(int count) throws IOException {
+        Contact template = objectMapper.readValue(loadJsonFromFile("test-data/valid-contact-response.json"), Contact.class);
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Contact contact = objectMapper.convertValue(template, Contact.class);
+            contact.setId(UUID.randomUUID());
+            contact.getCompany().setName(template.getCompany().getName() + " " + i);
+            contacts.add(contact);
+        }
+        return contacts;
+    }
+}
@@ -0,0 +1,72 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.common.dto.Company;
+import com.haucky.lexofficeadapter.lexoffice.cache.ReplicaSnapshotFile;
+import com.haucky.lexofficeadapter.lexoffice.dto.Contact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaSnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenWrittenSnapshot_whenReading_thenContactsAndSyncTimeAreRestored() throws IOException {
+        // Arrange
+        ReplicaSnapshotFile snapshotFile = new ReplicaSnapshotFile(directory);
+        Instant syncedAt = Instant.parse("2025-04-19T10:00:00Z");
+        List<Contact> contacts = List.of(contact("Haucky GmbH"), contact("Lexware GmbH"));
+
+        // Act
+        snapshotFile.write("acme", syncedAt, contacts);
+        ReplicaSnapshotFile.Snapshot snapshot = snapshotFile.read("acme").orElseThrow();
+
+        // Assert
+        assertThat(snapshot.syncedAt()).isEqualTo(syncedAt);
+        assertThat(snapshot.contacts()).containsExactlyElementsOf(contacts);
+        assertThat(snapshotFile.read("other")).isEmpty();
+    }
+
+    @Test
+    void givenCorruptedSnapshot_whenReading_thenItIsIgnored() throws IOException {
+        // Arrange
+        ReplicaSnapshotFile snapshotFile = new ReplicaSnapshotFile(directory);
+        snapshotFile.write("acme", Instant.now(), List.of(contact("Haucky GmbH")));
+        try (FileChannel channel = FileChannel.open(snapshotFile.file("acme"), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        // Act & Assert
+        assertThat(snapshotFile.read("acme")).isEmpty();
+    }
+
+    @Test
+    void givenTenantIdWithPathCharacters_whenResolvingFile_thenItStaysInTheDirectory() {
+        // Arrange
+        ReplicaSnapshotFile snapshotFile = new ReplicaSnapshotFile(directory);
+
+        // Act & Assert
+        assertThat(snapshotFile.file("../../etc/passwd").getParent()).isEqualTo(directory);
+    }
+
+    private static Contact contact(String name) {
+        Contact contact = new Contact();
+        contact.setId(UUID.randomUUID());
+        contact.setVersion(1);
+        Company company = new Company();
+        company.setName(name);
+        contact.setCompany(company);
+        return contact;
+    }
+}
@@ -0,0 +1,169 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.client.LexofficeApiProperties;
+import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RequestHedger;
+import com.haucky.lexofficeadapter.lexoffice.resilience.RateLimiterRegistry;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamAttempt;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestHedgerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private LexofficeApiProperties.Hedging settings;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+        settings = new LexofficeApiProperties.Hedging();
+        settings.setInitialDelay(Duration.ofMillis(20));
+        settings.setMaxHedgeRatio(1.0);
+        settings.setMaxHedgeBurst(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenSlowFirstAttempt_whenCalling_thenReturnHedgeResult() {
+        // Arrange
+        RequestHedger hedger = hedger(settings);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = hedger.call(() -> attempts.incrementAndGet() == 1 ? sleepAndReturn(2000, "primary") : "hedge");
+
+        // Assert
+        assertThat(result).isEqualTo("hedge");
+        assertThat(hedgeCount("fired")).isEqualTo(1);
+        assertThat(hedgeCount("won")).isEqualTo(1);
+    }
+
+    @Test
+    void givenFastFirstAttempt_whenCalling_thenDoNotHedge() {
+        // Arrange
+        RequestHedger hedger = hedger(settings);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = hedger.call(() -> attempts.incrementAndGet() == 1 ? "primary" : "hedge");
+
+        // Assert
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+        assertThat(hedgeCount("fired")).isZero();
+    }
+
+    @Test
+    void givenExhaustedHedgeBudget_whenCalling_thenWaitForFirstAttempt() {
+        // Arrange
+        settings.setMaxHedgeRatio(0.1);
+        RequestHedger hedger = hedger(settings);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = hedger.call(() -> attempts.incrementAndGet() == 1 ? sleepAndReturn(100, "primary") : "hedge");
+
+        // Assert
+        assertThat(result).isEqualTo("primary");
+        assertThat(hedgeCount("skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void givenBothAttemptsFail_whenCalling_thenPropagateErrorOfFirstAttempt() {
+        // Arrange
+        RequestHedger hedger = hedger(settings);
+        AtomicInteger attempts = new AtomicInteger();
+        LexofficeException primaryError = LexofficeException.builder().status(HttpStatus.BAD_GATEWAY).title("primary").build();
+        LexofficeException hedgeError = LexofficeException.builder().status(HttpStatus.BAD_GATEWAY).title("hedge").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleepAndReturn(100, "primary");
+                throw primaryError;
+            }
+            throw hedgeError;
+        })).isSameAs(primaryError);
+    }
+
+    @Test
+    void givenFirstAttemptBlockedInRead_whenHedgeWins_thenOkHttpCallOfFirstAttemptIsCancelled() throws Exception {
+        // Arrange
+        RequestHedger hedger = hedger(settings);
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(UpstreamAttempt.interceptor())
+                .readTimeout(Duration.ofSeconds(30))
+                .build();
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<Throwable> primaryOutcome = new CompletableFuture<>();
+
+        // Never accepts, the operating system completes the connection through the backlog and nobody answers
+        try (ServerSocket silentServer = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            String url = "http://127.0.0.1:" + silentServer.getLocalPort() + "/v1/contacts";
+
+            // Act
+            String result = hedger.call(() -> {
+                if (attempts.incrementAndGet() > 1) {
+                    return "hedge";
+                }
+                // Blocks in the socket read, which an interrupt alone does not abort
+                try (okhttp3.Response response = okHttpClient.newCall(new okhttp3.Request.Builder().url(url).build()).execute()) {
+                    primaryOutcome.complete(null);
+                    return "primary";
+                } catch (IOException e) {
+                    primaryOutcome.complete(e);
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // Assert
+            assertThat(result).isEqualTo("hedge");
+            assertThat(primaryOutcome.get(2, TimeUnit.SECONDS)).isInstanceOf(IOException.class).hasMessageContaining("Canceled");
+        }
+    }
+
+    private RequestHedger hedger(LexofficeApiProperties.Hedging settings) {
+        LexofficeApiProperties properties = new LexofficeApiProperties();
+        properties.getRateLimit().setPermitsPerSecond(100);
+        properties.getRateLimit().setBurst(100);
+        RateLimiterRegistry rateLimiters = new RateLimiterRegistry(properties, meterRegistry);
+        return new RequestHedger(UpstreamOperation.GET_BY_ID, settings, rateLimiters, executor, meterRegistry);
+    }
+
+    private double hedgeCount(String result) {
+        return meterRegistry.get("lexoffice.hedge.requests").tag("result", result).counter().count();
+    }
+
+    private static String sleepAndReturn(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,194 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.haucky.lexofficeadapter.adapter.compression.ResponseCompressionFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.brotli.dec.BrotliInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ResponseCompressionFilterTest {
+    private static final int MIN_RESPONSE_SIZE = 1024;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseCompressionFilter(MIN_RESPONSE_SIZE, false, meterRegistry);
+    }
+
+    @Test
+    void givenLargeJsonResponseAndGzipAccepted_whenFiltering_thenCompressResponse() throws Exception {
+        // Arrange
+        String body = jsonOfSize(10 * MIN_RESPONSE_SIZE);
+        MockHttpServletRequest request = request("gzip, deflate, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainWriting(body));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(body);
+
+        double contentBytes = meterRegistry.get("adapter.http.response.bytes").tag("uri", "/v1/contacts").tag("stage", "content").counter().count();
+        double wireBytes = meterRegistry.get("adapter.http.response.bytes").tag("uri", "/v1/contacts").tag("stage", "wire").counter().count();
+        assertThat(contentBytes).isEqualTo(body.length());
+        assertThat(wireBytes).isEqualTo(response.getContentAsByteArray().length).isLessThan(contentBytes);
+    }
+
+    @Test
+    void givenResponseBelowThreshold_whenFiltering_thenSendUncompressed() throws Exception {
+        // Arrange
+        String body = jsonOfSize(MIN_RESPONSE_SIZE / 2);
+        MockHttpServletRequest request = request("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainWriting(body));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(body);
+        assertThat(response.getContentLength()).isEqualTo(body.length());
+    }
+
+    @Test
+    void givenGzipNotAccepted_whenFiltering_thenSendUncompressedAndCountBytes() throws Exception {
+        // Arrange
+        String body = jsonOfSize(10 * MIN_RESPONSE_SIZE);
+        MockHttpServletRequest request = request(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainWriting(body));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(body);
+        assertThat(meterRegistry.get("adapter.http.response.bytes").tag("stage", "wire").counter().count()).isEqualTo(body.length());
+    }
+
+    @Test
+    void givenStreamedResponse_whenFlushingBelowThreshold_thenFirstBytesAreCommitted() throws Exception {
+        // Arrange
+        String firstContact = "{\"content\":[{\"company\":{\"name\":\"Acme Corporation\"}}";
+        MockHttpServletRequest request = request("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] committedAfterFlush = new boolean[1];
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                ResponseCompressionFilter.startStreaming(resp);
+                resp.getOutputStream().write(firstContact.getBytes(StandardCharsets.UTF_8));
+                resp.flushBuffer();
+                committedAfterFlush[0] = response.isCommitted();
+                resp.getOutputStream().write("]}".getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+
+        // Assert
+        assertThat(committedAfterFlush[0]).isTrue();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(firstContact + "]}");
+    }
+
+    @Test
+    void givenLargeJsonResponseAndBrotliAccepted_whenFiltering_thenCompressWithBrotli() throws Exception {
+        // Arrange
+        assumeTrue(Brotli4jLoader.isAvailable(), "No native Brotli encoder for this platform");
+        ResponseCompressionFilter brotliFilter = new ResponseCompressionFilter(MIN_RESPONSE_SIZE, true, meterRegistry);
+        String body = jsonOfSize(10 * MIN_RESPONSE_SIZE);
+        MockHttpServletRequest request = request("gzip, deflate, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        brotliFilter.doFilter(request, response, chainWriting(body));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(unbrotli(response.getContentAsByteArray())).isEqualTo(body);
+        assertThat(response.getContentAsByteArray().length).isLessThan(body.length());
+    }
+
+    @Test
+    void givenBrotliRefusedWithZeroQuality_whenFiltering_thenCompressWithGzip() throws Exception {
+        // Arrange
+        ResponseCompressionFilter brotliFilter = new ResponseCompressionFilter(MIN_RESPONSE_SIZE, true, meterRegistry);
+        String body = jsonOfSize(10 * MIN_RESPONSE_SIZE);
+        MockHttpServletRequest request = request("br;q=0, gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        brotliFilter.doFilter(request, response, chainWriting(body));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(body);
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/contacts");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/contacts");
+        return request;
+    }
+
+    private static MockFilterChain chainWriting(String body) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                resp.setContentLength(body.length());
+                resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+                resp.getOutputStream().flush();
+            }
+        });
+    }
+
+    private static String jsonOfSize(int size) {
+        StringBuilder json = new StringBuilder("{\"content\":[");
+        while (json.length() < size) {
+            json.append("{\"company\":{\"name\":\"Acme Corporation\"}},");
+        }
+        return json.append("{}]}").toString();
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String unbrotli(byte[] compressed) throws IOException {
+        try (BrotliInputStream in = new BrotliInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.exceptions.LexofficeException;
+import com.haucky.lexofficeadapter.lexoffice.resilience.SingleFlight;
+import com.haucky.lexofficeadapter.lexoffice.resilience.UpstreamOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>(UpstreamOperation.GET_BY_ID, meterRegistry);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentIdenticalCalls_whenCalling_thenUpstreamIsCalledOnce() throws Exception {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        Future<String> leader = executor.submit(() -> singleFlight.call("id", () -> {
+            upstreamCalls.incrementAndGet();
+            await(release);
+            return "contact";
+        }));
+        awaitInFlight();
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> singleFlight.call("id", () -> {
+                upstreamCalls.incrementAndGet();
+                return "other";
+            })));
+        }
+        awaitCoalesced(5);
+        release.countDown();
+
+        // Assert
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("contact");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(1, TimeUnit.SECONDS)).isEqualTo("contact");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(callers("leader")).isEqualTo(1);
+        assertThat(callers("coalesced")).isEqualTo(5);
+    }
+
+    @Test
+    void givenFailingCall_whenCallersAreCoalesced_thenAllReceiveTheError() throws Exception {
+        // Arrange
+        LexofficeException error = LexofficeException.builder().status(HttpStatus.BAD_GATEWAY).title("upstream").build();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        Future<String> leader = executor.submit(() -> singleFlight.call("id", () -> {
+            await(release);
+            throw error;
+        }));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> singleFlight.call("id", () -> "other"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> leader.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(error);
+        assertThatThrownBy(() -> follower.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(error);
+    }
+
+    @Test
+    void givenCompletedCall_whenCallingAgain_thenUpstreamIsCalledAgain() {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // Act
+        singleFlight.call("id", () -> "first-" + upstreamCalls.incrementAndGet());
+        String result = singleFlight.call("id", () -> "second-" + upstreamCalls.incrementAndGet());
+
+        // Assert
+        assertThat(result).isEqualTo("second-2");
+        assertThat(callers("coalesced")).isZero();
+    }
+
+    @Test
+    void givenDifferentKeys_whenCallingAsynchronously_thenCallsAreNotCoalesced() throws Exception {
+        // Arrange
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> firstResult = singleFlight.callAsync("a", () -> first);
+        CompletableFuture<String> coalescedResult = singleFlight.callAsync("a", () -> CompletableFuture.completedFuture("other"));
+        CompletableFuture<String> secondResult = singleFlight.callAsync("b", () -> second);
+        first.complete("contact-a");
+        second.complete("contact-b");
+
+        // Assert
+        assertThat(firstResult.get(1, TimeUnit.SECONDS)).isEqualTo("contact-a");
+        assertThat(coalescedResult.get(1, TimeUnit.SECONDS)).isEqualTo("contact-a");
+        assertThat(secondResult.get(1, TimeUnit.SECONDS)).isEqualTo("contact-b");
+        assertThat(callers("leader")).isEqualTo(2);
+        assertThat(callers("coalesced")).isEqualTo(1);
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (singleFlight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitCoalesced(int callers) throws InterruptedException {
+        while (callers("coalesced") < callers) {
+            Thread.sleep(1);
+        }
+    }
+
+    private double callers(String role) {
+        return meterRegistry.get("lexoffice.singleflight.callers").tag("role", role).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.adapter.exception.RateLimitExceededException;
+import com.haucky.lexofficeadapter.lexoffice.resilience.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenExhaustedBurstAndNoWaitBudget_whenAcquiring_thenRejectWithRetryAfter() {
+        // Arrange
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, 2, Duration.ZERO, meterRegistry, Tags.empty());
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+
+        // Act & Assert
+        assertThatThrownBy(rateLimiter::acquire)
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter())
+                        .isPositive()
+                        .isLessThanOrEqualTo(Duration.ofMillis(500)));
+
+        assertThat(meterRegistry.get("lexoffice.ratelimiter.permits").tag("result", "acquired").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("lexoffice.ratelimiter.permits").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenExhaustedBurst_whenReserving_thenQueueCallersBehindEachOther() {
+        // Arrange
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 1, Duration.ofSeconds(1), meterRegistry, Tags.empty());
+
+        // Act
+        long first = rateLimiter.reserve();
+        long second = rateLimiter.reserve();
+        long third = rateLimiter.reserve();
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(second)).isBetween(50L, 100L);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(third)).isBetween(150L, 200L);
+        assertThat(rateLimiter.availablePermits()).isZero();
+    }
+
+    @Test
+    void givenWaitWithinBudget_whenAcquiring_thenBlockAndRecordWaitTime() {
+        // Arrange
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(20, 1, Duration.ofSeconds(1), meterRegistry, Tags.empty());
+        rateLimiter.acquire();
+
+        // Act
+        long start = System.nanoTime();
+        rateLimiter.acquire();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(25L);
+        assertThat(meterRegistry.get("lexoffice.ratelimiter.wait").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("lexoffice.ratelimiter.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void givenWaitingCaller_whenInterrupted_thenPermitIsReturnedAndCountedAsRejected() throws InterruptedException {
+        // Arrange
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1, 1, Duration.ofSeconds(5), meterRegistry, Tags.empty());
+        rateLimiter.acquire();
+        // Asserted on the test thread, a failure on the waiting thread would go unnoticed
+        AtomicReference<RuntimeException> thrown = new AtomicReference<>();
+        Thread waiting = new Thread(() -> {
+            try {
+                rateLimiter.acquire();
+            } catch (RuntimeException e) {
+                thrown.set(e);
+            }
+        });
+
+        // Act
+        waiting.start();
+        TimeUnit.MILLISECONDS.sleep(100);
+        waiting.interrupt();
+        waiting.join();
+
+        // Assert
+        assertThat(thrown.get()).isInstanceOf(RateLimitExceededException.class);
+        assertThat(rateLimiter.reserve()).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(meterRegistry.get("lexoffice.ratelimiter.permits").tag("result", "rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lexoffice.ratelimiter.permits").tag("result", "acquired").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,76 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.cache.TrigramIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures building the name index over 100k contacts (company and contact person name each) and the latency of name
+ * searches against it, compared to matching every name. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class TrigramIndexBenchmarkTest {
+    private static final int CONTACTS = 100_000;
+    private static final int QUERIES = 10_000;
+    private static final String[] WORDS = {"Haucky", "Lexware", "Büromarkt", "Müller", "Schmidt", "Software", "Bau",
+            "Consulting", "Handel", "Logistik", "Technik", "Service", "Nord", "Süd", "Digital", "Werkstatt"};
+    private static final String[] LEGAL_FORMS = {"GmbH", "AG", "KG", "e.K.", "GmbH & Co. KG"};
+
+    @Test
+    void givenHundredThousandContacts_whenSearchingByName_thenIndexAnswersInMicroseconds() {
+        // Arrange
+        Random random = new Random(42);
+        List<List<String>> names = new ArrayList<>(CONTACTS);
+        for (int i = 0; i < CONTACTS; i++) {
+            names.add(List.of(
+                    WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i + " "
+                            + LEGAL_FORMS[random.nextInt(LEGAL_FORMS.length)],
+                    WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + "mann"));
+        }
+        List<String> terms = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            terms.add(i % 2 == 0 ? WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(CONTACTS)
+                    : WORDS[random.nextInt(WORDS.length)].substring(0, 3));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        TrigramIndex index = TrigramIndex.build(CONTACTS, names::get);
+        Duration build = Duration.ofNanos(System.nanoTime() - start);
+
+        long matches = 0;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            matches = 0;
+            start = System.nanoTime();
+            for (String term : terms) {
+                matches += index.candidates(term).orElseThrow().length;
+            }
+        }
+        Duration indexed = Duration.ofNanos(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        long scanned = 0;
+        for (String term : terms.subList(0, 100)) {
+            String folded = term.toLowerCase();
+            scanned += names.stream()
+                    .filter(contactNames -> contactNames.stream().anyMatch(name -> name.toLowerCase().contains(folded)))
+                    .count();
+        }
+        Duration scan = Duration.ofNanos(System.nanoTime() - start).multipliedBy(QUERIES / 100);
+
+        // Assert
+        long perQueryMicros = indexed.toNanos() / QUERIES / 1000;
+        System.out.printf("Index over %d contacts: %d trigrams, built in %d ms, %d µs per query (%d candidates), "
+                        + "scanning takes %d µs per query (%d matches in 100 queries)%n",
+                CONTACTS, index.trigrams(), build.toMillis(), perQueryMicros, matches, scan.toNanos() / QUERIES / 1000,
+                scanned);
+        assertThat(indexed).isLessThan(scan);
+    }
+}
@@ -0,0 +1,40 @@
+package com.haucky.lexofficeadapter.unit;
+
+import com.haucky.lexofficeadapter.lexoffice.cache.TrigramIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrigramIndexTest {
+    private static final List<List<String>> NAMES = List.of(
+            List.of("Haucky GmbH", "Max Mustermann"),
+            List.of("Lexware GmbH"),
+            List.of("Büromarkt AG", "Erika Musterfrau"),
+            List.of("MÜLLER & SÖHNE"));
+
+    private final TrigramIndex index = TrigramIndex.build(NAMES.size(), NAMES::get);
+
+    @Test
+    void givenTermInSeveralNames_whenSearching_thenAllPositionsAreReturnedInOrder() {
+        // Act & Assert
+        assertThat(index.candidates("gmbh")).hasValueSatisfying(positions -> assertThat(positions).containsExactly(0, 1));
+        assertThat(index.candidates("MUSTER")).hasValueSatisfying(positions -> assertThat(positions).containsExactly(0, 2));
+    }
+
+    @Test
+    void givenUmlautsInDifferentCase_whenSearching_thenNamesAreMatchedCaseInsensitively() {
+        // Act & Assert
+        assertThat(index.candidates("müller")).hasValueSatisfying(positions -> assertThat(positions).containsExactly(3));
+        assertThat(index.candidates("bÜRO")).hasValueSatisfying(positions -> assertThat(positions).containsExactly(2));
+    }
+
+    @Test
+    void givenWildcards_whenSearching_thenOnlyLiteralTrigramsNarrowTheCandidates() {
+        // Act & Assert
+        assertThat(index.candidates("Lex%GmbH")).hasValueSatisfying(positions -> assertThat(positions).containsExactly(1));
+        assertThat(index.candidates("unknown")).hasValueSatisfying(positions -> assertThat(positions).isEmpty());
+        assertThat(index.candidates("a%b_c")).isEmpty();
+    }
+}